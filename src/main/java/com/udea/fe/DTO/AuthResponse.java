@@ -15,4 +15,5 @@ public class AuthResponse {
     private String dni;
     private String role;
     private String status;
+    private String refreshToken;
 }
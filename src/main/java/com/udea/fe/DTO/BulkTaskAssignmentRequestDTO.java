@@ -0,0 +1,16 @@
+package com.udea.fe.DTO;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/** Asigna cada tarea de {@code taskIds} a todos los usuarios y equipos indicados. */
+@Getter
+@Setter
+public class BulkTaskAssignmentRequestDTO {
+    private Set<Long> taskIds = new LinkedHashSet<>();
+    private Set<Long> userIds = new LinkedHashSet<>();
+    private Set<Long> teamIds = new LinkedHashSet<>();
+}
@@ -0,0 +1,17 @@
+package com.udea.fe.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTaskAssignmentResponseDTO {
+    // Asignaciones nuevas; las que ya existían no se repiten ni se notifican otra vez
+    private int created;
+    private int alreadyAssigned;
+    private int notifiedUsers;
+}
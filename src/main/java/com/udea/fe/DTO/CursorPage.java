@@ -0,0 +1,39 @@
+package com.udea.fe.DTO;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de un listado por cursor (keyset): {@code nextCursor} es el último id
+ * entregado, o null si no hay más resultados.
+ */
+public record CursorPage<T>(List<T> items, Long nextCursor) {
+
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * Límite para la consulta: sin size no se pagina; con size se pide un registro
+     * extra para saber si hay una página siguiente.
+     */
+    public static Pageable limit(Integer size) {
+        if (size == null) {
+            return Pageable.unpaged();
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor que cero");
+        }
+        return PageRequest.of(0, Math.min(size, MAX_SIZE) + 1);
+    }
+
+    /** Recorta el registro extra pedido por {@link #limit(Integer)} y calcula el cursor. */
+    public static <T> CursorPage<T> of(List<T> rows, Integer size, Function<T, Long> keyOf) {
+        if (size == null || rows.size() <= Math.min(size, MAX_SIZE)) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> page = rows.subList(0, Math.min(size, MAX_SIZE));
+        return new CursorPage<>(page, keyOf.apply(page.get(page.size() - 1)));
+    }
+}
@@ -17,4 +17,5 @@ public class FeedbackDTO {
   private Long createdById;
   private Long submissionId;
   private Long parentFeedbackId;
+  private Long version;
 }
@@ -0,0 +1,31 @@
+package com.udea.fe.DTO;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Nodo del hilo de retroalimentación de una entrega: sus respuestas y sus retroalimentaciones hijas. */
+@Getter
+@Setter
+@NoArgsConstructor
+public class FeedbackThreadDTO {
+
+  private Long feedbackId;
+  private String comment;
+  private Integer rating;
+  private Long createdById;
+  private Long parentFeedbackId;
+  private List<FeedbackResponseDTO> responses = new ArrayList<>();
+  private List<FeedbackThreadDTO> replies = new ArrayList<>();
+
+  public FeedbackThreadDTO(FeedbackDTO feedback) {
+    this.feedbackId = feedback.getFeedbackId();
+    this.comment = feedback.getComment();
+    this.rating = feedback.getRating();
+    this.createdById = feedback.getCreatedById();
+    this.parentFeedbackId = feedback.getParentFeedbackId();
+  }
+}
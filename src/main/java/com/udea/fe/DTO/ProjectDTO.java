@@ -20,4 +20,5 @@ public class ProjectDTO {
     private LocalDate endDate;
     private ProjectStatus status;
     private Long createdById;
+    private Long version;
 }
@@ -0,0 +1,38 @@
+package com.udea.fe.DTO;
+
+import com.udea.fe.entity.TaskPriority;
+import com.udea.fe.entity.TaskStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Resumen agregado de un proyecto para la vista del docente. */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProjectDashboardDTO {
+
+    private Long projectId;
+    private long teamCount;
+    private long memberCount;
+    private Map<TaskStatus, Long> tasksByStatus = new LinkedHashMap<>();
+    private Map<TaskPriority, Long> tasksByPriority = new LinkedHashMap<>();
+    private long overdueTasks;
+    private List<TaskStats> tasks = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class TaskStats {
+        private Long taskId;
+        private String name;
+        private long submissionCount;
+        private BigDecimal averageRating;
+    }
+}
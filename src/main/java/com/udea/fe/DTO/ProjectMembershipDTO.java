@@ -0,0 +1,18 @@
+package com.udea.fe.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectMembershipDTO {
+
+    private Long projectId;
+    // true si el usuario pertenece a algún equipo del proyecto; false si solo lo creó
+    private Boolean teamMember;
+
+}
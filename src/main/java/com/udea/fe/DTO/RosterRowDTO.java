@@ -0,0 +1,21 @@
+package com.udea.fe.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Una fila del listado de matrícula: el usuario a crear y, opcionalmente, el equipo al que se une. */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RosterRowDTO {
+    private String name;
+    private String email;
+    private String dni;
+    private String password;
+    private String role;
+    private Long teamId;
+    private String roleInGroup;
+}
@@ -0,0 +1,17 @@
+package com.udea.fe.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Archivo guardado en el almacén: {@code url} es lo que se envía como fileUrl de la entrega. */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StoredFileDTO {
+    private String sha256;
+    private long size;
+    private String url;
+}
@@ -1,10 +1,14 @@
 package com.udea.fe.DTO;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class SubmissionResponseDTO {
     private Long submissionId;
     private String content;
@@ -0,0 +1,40 @@
+package com.udea.fe.DTO;
+
+import com.udea.fe.entity.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cambios visibles para el usuario desde un cursor. Con {@code reset} el cliente debe descartar su
+ * caché y recargar los listados; en ambos casos continúa con {@code since=cursor}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class SyncResponseDTO {
+
+    private long cursor;
+    private boolean hasMore;
+    private boolean reset;
+    private List<ProjectDTO> projects = new ArrayList<>();
+    private List<TeamDTO> teams = new ArrayList<>();
+    private List<TaskDTO> tasks = new ArrayList<>();
+    private List<SubmissionResponseDTO> submissions = new ArrayList<>();
+    private List<FeedbackDTO> feedbacks = new ArrayList<>();
+    private List<NotificationDTO> notifications = new ArrayList<>();
+    private List<Deletion> deleted = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Deletion {
+        private ChangeType type;
+        private Long id;
+    }
+}
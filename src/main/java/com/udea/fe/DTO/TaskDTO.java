@@ -22,4 +22,5 @@ public class TaskDTO {
     private TaskPriority priority;
     private Long projectId;
     private Long createdById;
+    private Long version;
 }
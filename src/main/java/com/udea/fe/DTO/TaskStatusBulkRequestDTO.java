@@ -0,0 +1,15 @@
+package com.udea.fe.DTO;
+
+import com.udea.fe.entity.TaskStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Getter
+@Setter
+public class TaskStatusBulkRequestDTO {
+    private Set<Long> taskIds = new LinkedHashSet<>();
+    private TaskStatus status;
+}
@@ -0,0 +1,16 @@
+package com.udea.fe.DTO;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Resultado de un cambio de estado masivo: actualizadas, inexistentes y con transición no permitida. */
+@Getter
+@Setter
+public class TaskStatusBulkResultDTO {
+    private List<Long> updated = new ArrayList<>();
+    private List<Long> notFound = new ArrayList<>();
+    private List<Long> rejected = new ArrayList<>();
+}
@@ -15,4 +15,5 @@ public class TeamDTO {
     private String description;
     private Long projectId;
     private Long leaderId;
+    private Long version;
 }
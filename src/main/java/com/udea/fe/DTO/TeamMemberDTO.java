@@ -0,0 +1,20 @@
+package com.udea.fe.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeamMemberDTO {
+
+    private Long teamId;
+    private Long userId;
+    private String name;
+    private String email;
+    private String roleInGroup;
+
+}
@@ -0,0 +1,18 @@
+package com.udea.fe.DTO;
+
+import com.udea.fe.entity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSummaryDTO {
+    private Long userId;
+    private String name;
+    private String email;
+    private Role role;
+}
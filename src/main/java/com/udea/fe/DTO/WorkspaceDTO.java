@@ -14,4 +14,5 @@ public class WorkspaceDTO {
     private String name;
     private String description;
     private Long projectId;
+    private Long version;
 }
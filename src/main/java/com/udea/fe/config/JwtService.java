@@ -6,39 +6,63 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.udea.fe.entity.User;
+import com.udea.fe.security.model.UserPrincipal;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    @Value("${security.jwt.secret}")
-    private String secretKey;
+    private final long jwtExpiration;
 
-    @Value("${security.jwt.expiration}")
-    private long jwtExpiration;
+    // La clave y el parser son inmutables y thread-safe: se construyen una sola vez
+    private final Key signingKey;
+    private final JwtParser parser;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    public JwtService(
+            @Value("${security.jwt.secret}") String secretKey,
+            @Value("${security.jwt.expiration}") long jwtExpiration) {
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     public String generateToken(User user) {
-    return Jwts.builder()
-            .setSubject(user.getEmail())
-            .claim("id", user.getUserId())
-            .claim("name", user.getName())
-            .claim("email", user.getEmail())
-            .claim("dni", user.getDni())
-            .claim("role", user.getRole())
-            .claim("status", user.getStatus())
-            .setIssuedAt(new Date(System.currentTimeMillis()))
-            .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-            .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-            .compact();
-}
+        return generateToken(UserPrincipal.from(user));
+    }
 
+    public String generateToken(UserPrincipal user) {
+        return Jwts.builder()
+                .setSubject(user.getUsername())
+                .claim("id", user.getUserId())
+                .claim("name", user.getName())
+                .claim("email", user.getUsername())
+                .claim("dni", user.getDni())
+                .claim("role", user.getRole())
+                .claim("status", user.getStatus())
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Verifica firma y expiración en un único parseo.
+     * Devuelve vacío si el token es inválido, está mal formado o expiró.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            return Optional.of(VerifiedToken.from(extractAllClaims(token)));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -50,23 +74,13 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public boolean isTokenValid(String token, String userEmail) {
-        final String username = extractUsername(token);
-        return (username.equals(userEmail) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        // El parser ya rechaza tokens expirados, no hace falta un segundo parseo
+        return verify(token)
+                .map(verified -> verified.subject().equals(userEmail))
+                .orElse(false);
     }
 }
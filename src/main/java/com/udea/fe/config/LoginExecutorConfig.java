@@ -0,0 +1,34 @@
+package com.udea.fe.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Pool dedicado para el login: el hash BCrypt corre fuera de los hilos de Tomcat
+ * y, cuando el pool y su cola se llenan, las peticiones se rechazan de inmediato.
+ */
+@Configuration
+public class LoginExecutorConfig {
+
+    @Value("${security.login.pool-size:0}")
+    private int poolSize;
+
+    @Value("${security.login.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor loginExecutor() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-");
+        // Política por defecto (AbortPolicy): con la cola llena se lanza TaskRejectedException
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,39 @@
+package com.udea.fe.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Pool acotado para las respuestas asíncronas de Spring MVC (las exportaciones NDJSON con
+ * {@code StreamingResponseBody}). Como la aplicación declara sus propios ejecutores, Spring Boot no
+ * crea {@code applicationTaskExecutor} y MVC usaría un hilo nuevo por exportación.
+ */
+@Configuration
+public class MvcAsyncConfig implements WebMvcConfigurer {
+
+    @Value("${web.async.pool-size:4}")
+    private int poolSize;
+
+    @Value("${web.async.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+    }
+}
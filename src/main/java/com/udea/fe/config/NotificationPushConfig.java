@@ -0,0 +1,43 @@
+package com.udea.fe.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Hilos que escriben en las conexiones SSE. Las conexiones inactivas no ocupan hilo
+ * (servlet asíncrono); solo se usa uno mientras se vacía el buffer de una conexión.
+ */
+@Configuration
+public class NotificationPushConfig {
+
+    @Value("${notifications.sse.push-threads:2}")
+    private int pushThreads;
+
+    @Bean
+    public ThreadPoolTaskExecutor notificationPushExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(pushThreads);
+        executor.setMaxPoolSize(pushThreads);
+        // Hay como máximo una tarea pendiente por conexión, la cola queda acotada por el número de conexiones
+        executor.setThreadNamePrefix("sse-push-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Vaciado anticipado del outbox cuando se completa un lote; un solo hilo basta porque las ejecuciones no se solapan
+    @Bean
+    public ThreadPoolTaskExecutor notificationOutboxExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setThreadNamePrefix("outbox-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,37 @@
+package com.udea.fe.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Pool para el hash BCrypt de las importaciones masivas de usuarios, separado del de login
+ * para que una importación no deje sin hilos a quienes inician sesión.
+ */
+@Configuration
+public class RosterImportConfig {
+
+    @Value("${users.import.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${users.import.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        // Con la cola llena el hilo de la petición calcula el hash: la importación se frena en lugar de fallar
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+        return executor;
+    }
+}
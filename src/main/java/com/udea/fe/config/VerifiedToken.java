@@ -0,0 +1,34 @@
+package com.udea.fe.config;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * Claims de un JWT cuya firma y expiración ya fueron verificadas.
+ * Se construye una sola vez por petición y es inmutable.
+ */
+public record VerifiedToken(
+        String subject,
+        Long userId,
+        String name,
+        String dni,
+        String role,
+        String status,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("id", Long.class),
+                claims.get("name", String.class),
+                claims.get("dni", String.class),
+                claims.get("role", String.class),
+                claims.get("status", String.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+}
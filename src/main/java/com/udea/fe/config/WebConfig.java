@@ -2,6 +2,7 @@ package com.udea.fe.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.*;
 
 import java.util.List;
@@ -19,6 +20,7 @@ public class WebConfig implements WebMvcConfigurer {
             .allowedOrigins(origins.toArray(new String[0]))
             .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
             .allowedHeaders("*")
+            .exposedHeaders("X-Next-Cursor", HttpHeaders.ETAG)
             .allowCredentials(true);
     }
 }
@@ -2,44 +2,84 @@ package com.udea.fe.controller;
 
 import com.udea.fe.DTO.AuthResponse;
 import com.udea.fe.DTO.LoginRequest;
+import com.udea.fe.DTO.RefreshTokenRequest;
 import com.udea.fe.DTO.UserDTO;
-import com.udea.fe.entity.User;
-import com.udea.fe.repository.UserRepository;
+import com.udea.fe.security.model.UserPrincipal;
+import com.udea.fe.exception.InvalidRefreshTokenException;
 import com.udea.fe.security.service.AuthService;
+import com.udea.fe.security.service.RefreshTokenService;
+import com.udea.fe.security.service.UserDetailsServiceImpl;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
   private final AuthService authService;
-  private final UserRepository userRepository;
+  private final UserDetailsServiceImpl userDetailsService;
+  private final RefreshTokenService refreshTokenService;
   private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
 
-  public AuthController(AuthService authService, UserRepository userRepository) {
+  public AuthController(
+    AuthService authService,
+    UserDetailsServiceImpl userDetailsService,
+    RefreshTokenService refreshTokenService
+  ) {
     this.authService = authService;
-    this.userRepository = userRepository;
+    this.userDetailsService = userDetailsService;
+    this.refreshTokenService = refreshTokenService;
   }
 
   @PostMapping("/login")
-  public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request) {
+  public CompletableFuture<ResponseEntity<AuthResponse>> login(@RequestBody LoginRequest request) {
+    logger.info("Login recibido para usuario: {}", request.getEmail());
     try {
-      logger.info("Login recibido para usuario: {}", request.getEmail());
-      AuthResponse response = authService.login(request);
-      logger.info("Login exitoso, generando respuesta");
-      return ResponseEntity.ok(response);
-    } catch (Exception e) {
-      logger.error("Error en login: {}", e.getMessage(), e);
+      // El hilo de Tomcat queda libre mientras el pool de login calcula el hash
+      return authService.loginAsync(request).handle((response, e) -> {
+        if (e != null) {
+          logger.error("Error en login: {}", e.getMessage(), e);
+          return ResponseEntity.status(401).<AuthResponse>build();
+        }
+        logger.info("Login exitoso, generando respuesta");
+        return ResponseEntity.ok(response);
+      });
+    } catch (RejectedExecutionException e) {
+      logger.warn("Login rechazado: pool de autenticación saturado");
+      return CompletableFuture.completedFuture(
+        ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, "1")
+          .<AuthResponse>build()
+      );
+    }
+  }
+
+  @PostMapping("/refresh")
+  public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshTokenRequest request) {
+    try {
+      return ResponseEntity.ok(refreshTokenService.refresh(request.getRefreshToken()));
+    } catch (InvalidRefreshTokenException e) {
+      logger.warn("Refresh rechazado: {}", e.getMessage());
       return ResponseEntity.status(401).build();
     }
   }
 
+  @PostMapping("/logout")
+  public ResponseEntity<Void> logout(@RequestBody RefreshTokenRequest request) {
+    refreshTokenService.revoke(request.getRefreshToken());
+    return ResponseEntity.noContent().build();
+  }
+
   @GetMapping("/me")
   public ResponseEntity<UserDTO> getCurrentUser(Authentication authentication) {
     logger.info("Obtener usuario autenticado");
@@ -55,14 +95,22 @@ public class AuthController {
 
     if (principal instanceof org.springframework.security.core.userdetails.User userDetails) {
       String username = userDetails.getUsername();
-      User userEntity = userRepository.findByEmail(username).orElse(null);
+      UserPrincipal user = userDetailsService.findByEmail(username).orElse(null);
 
-      if (userEntity == null) {
+      if (user == null) {
         logger.warn("Usuario no encontrado con email: {}", username);
         return ResponseEntity.status(404).build();
       }
 
-      UserDTO userDto = new UserDTO(userEntity);
+      UserDTO userDto = new UserDTO(
+        user.getUserId(),
+        user.getName(),
+        user.getUsername(),
+        null,
+        user.getDni(),
+        user.getRole(),
+        user.getStatus()
+      );
       logger.info("Usuario autenticado: {}", userDto);
       return ResponseEntity.ok(userDto);
     } else {
@@ -0,0 +1,23 @@
+package com.udea.fe.controller;
+
+import com.udea.fe.DTO.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/** El cuerpo sigue siendo la lista; el cursor de la página siguiente viaja en un encabezado. */
+final class CursorResponses {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+        }
+        return response.body(page.items());
+    }
+}
@@ -0,0 +1,48 @@
+package com.udea.fe.controller;
+
+import com.udea.fe.exception.VersionConflictException;
+
+/**
+ * ETags fuertes: {@code "<recurso>-<id>-<versión>"} para un recurso y {@code "<recurso>-<huella>"}
+ * para una colección. Se calculan con una consulta mínima, así un 304 no carga ni serializa nada.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(String resource, Long id, long version) {
+        return "\"" + resource + "-" + id + "-" + version + "\"";
+    }
+
+    static String collection(String resource, String tag) {
+        return "\"" + resource + "-" + tag + "\"";
+    }
+
+    /** Un archivo direccionado por contenido no cambia: su hash ya es un ETag fuerte. */
+    static String content(String sha256) {
+        return "\"" + sha256 + "\"";
+    }
+
+    /**
+     * Versión esperada según If-Match, o null si no viene (o es "*"). Un ETag débil o de otro
+     * recurso nunca coincide, así que se rechaza con 412.
+     */
+    static Long expectedVersion(String ifMatch, String resource, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + resource + "-" + id + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String etag = candidate.trim();
+            if (etag.startsWith(prefix) && etag.endsWith("\"")) {
+                try {
+                    return Long.valueOf(etag.substring(prefix.length(), etag.length() - 1));
+                } catch (NumberFormatException ignored) {
+                    // Sigue con el siguiente candidato
+                }
+            }
+        }
+        throw new VersionConflictException("If-Match no corresponde a una versión de este recurso");
+    }
+}
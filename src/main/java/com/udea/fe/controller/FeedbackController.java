@@ -1,6 +1,8 @@
 package com.udea.fe.controller;
 
 import com.udea.fe.DTO.FeedbackDTO;
+import com.udea.fe.DTO.FeedbackThreadDTO;
+import com.udea.fe.config.NdjsonWriter;
 import com.udea.fe.service.FeedbackService;
 import java.util.List;
 
@@ -8,9 +10,12 @@ import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/feedback")
@@ -20,6 +25,7 @@ public class FeedbackController {
   private static final Logger logger = LoggerFactory.getLogger(FeedbackController.class);
 
   private final FeedbackService feedbackService;
+  private final NdjsonWriter ndjsonWriter;
 
   @PostMapping("/create_feedback")
   public ResponseEntity<FeedbackDTO> createFeedback(@RequestBody FeedbackDTO feedbackDTO) {
@@ -30,22 +36,33 @@ public class FeedbackController {
   @PutMapping("/{id}/edit")
   public ResponseEntity<FeedbackDTO> updateFeedback(
     @PathVariable Long id,
-    @RequestBody FeedbackDTO feedbackDTO
+    @RequestBody FeedbackDTO feedbackDTO,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
   ) {
-    FeedbackDTO updatedFeedback = feedbackService.updateFeedback(id, feedbackDTO);
-    return ResponseEntity.ok(updatedFeedback);
+    FeedbackDTO updatedFeedback = feedbackService.updateFeedback(id, feedbackDTO, ETags.expectedVersion(ifMatch, "feedback", id));
+    return ResponseEntity.ok().eTag(ETags.of("feedback", id, updatedFeedback.getVersion())).body(updatedFeedback);
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<FeedbackDTO> getFeedbackById(@PathVariable Long id) {
+  public ResponseEntity<FeedbackDTO> getFeedbackById(@PathVariable Long id, WebRequest request) {
+    if (request.checkNotModified(ETags.of("feedback", id, feedbackService.getVersion(id)))) {
+      return null;
+    }
     FeedbackDTO feedback = feedbackService.getFeedbackById(id);
     return ResponseEntity.ok(feedback);
   }
 
   @GetMapping("/all")
-  public ResponseEntity<List<FeedbackDTO>> getAllFeedbacks() {
-    List<FeedbackDTO> feedbacks = feedbackService.getAllFeedbacks();
-    return ResponseEntity.ok(feedbacks);
+  public ResponseEntity<List<FeedbackDTO>> getAllFeedbacks(
+    @RequestParam(required = false) Long after,
+    @RequestParam(required = false) Integer size
+  ) {
+    return CursorResponses.ok(feedbackService.getAllFeedbacks(after, size));
+  }
+
+  @GetMapping(value = "/all", produces = NdjsonWriter.MEDIA_TYPE)
+  public ResponseEntity<StreamingResponseBody> exportAllFeedbacks() {
+    return ndjsonWriter.stream(feedbackService::exportAllFeedbacks);
   }
 
   @DeleteMapping("/{id}/delete")
@@ -67,4 +84,10 @@ public class FeedbackController {
       return ResponseEntity.badRequest().build();
     }
   }
+
+  @GetMapping("/submission/{submissionId}/thread")
+  public ResponseEntity<List<FeedbackThreadDTO>> getFeedbackThread(@PathVariable Long submissionId) {
+    logger.info("Llamada a getFeedbackThread con submissionId: {}", submissionId);
+    return ResponseEntity.ok(feedbackService.getFeedbackThread(submissionId));
+  }
 }
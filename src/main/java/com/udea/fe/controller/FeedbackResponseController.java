@@ -1,11 +1,13 @@
 package com.udea.fe.controller;
 
 import com.udea.fe.DTO.FeedbackResponseDTO;
+import com.udea.fe.config.NdjsonWriter;
 import com.udea.fe.service.FeedbackResponseService;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,6 +17,7 @@ import java.util.List;
 public class FeedbackResponseController {
 
     private final FeedbackResponseService feedbackResponseService;
+    private final NdjsonWriter ndjsonWriter;
 
 
     @PostMapping("/create_feedbackResponse")
@@ -30,9 +33,16 @@ public class FeedbackResponseController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<FeedbackResponseDTO>> getAllFeedbackResponses() {
-        List<FeedbackResponseDTO> feedbackResponses = feedbackResponseService.getAllFeedbackResponses();
-        return ResponseEntity.ok(feedbackResponses);
+    public ResponseEntity<List<FeedbackResponseDTO>> getAllFeedbackResponses(
+        @RequestParam(required = false) Long after,
+        @RequestParam(required = false) Integer size
+    ) {
+        return CursorResponses.ok(feedbackResponseService.getAllFeedbackResponses(after, size));
+    }
+
+    @GetMapping(value = "/all", produces = NdjsonWriter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportAllFeedbackResponses() {
+        return ndjsonWriter.stream(feedbackResponseService::exportAllFeedbackResponses);
     }
 
     @PutMapping("/{id}/edit")
@@ -0,0 +1,55 @@
+package com.udea.fe.controller;
+
+import com.udea.fe.DTO.StoredFileDTO;
+import com.udea.fe.config.FileDownloadWriter;
+import com.udea.fe.service.BlobStoreService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/files")
+@AllArgsConstructor
+public class FileController {
+
+  private static final Logger logger = LoggerFactory.getLogger(FileController.class);
+
+  private final BlobStoreService blobStoreService;
+  private final FileDownloadWriter fileDownloadWriter;
+
+  @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<StoredFileDTO> uploadFile(@RequestParam("file") MultipartFile file) throws IOException {
+    logger.info("Subiendo archivo {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+    StoredFileDTO stored = blobStoreService.store(file);
+    return new ResponseEntity<>(stored, HttpStatus.CREATED);
+  }
+
+  // name solo define el nombre y el tipo con que se descarga; el archivo lo identifica el hash
+  @GetMapping("/{sha256}")
+  public void downloadFile(
+    @PathVariable String sha256,
+    @RequestParam(required = false) String name,
+    HttpServletRequest request,
+    HttpServletResponse response
+  ) throws IOException {
+    Optional<Path> file = blobStoreService.find(sha256);
+    if (file.isEmpty()) {
+      response.setStatus(HttpStatus.NOT_FOUND.value());
+      return;
+    }
+    fileDownloadWriter.write(file.get(), ETags.content(sha256), name, request, response);
+  }
+}
@@ -1,13 +1,22 @@
 package com.udea.fe.controller;
 
 import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.config.NdjsonWriter;
+import com.udea.fe.security.model.UserPrincipal;
 import com.udea.fe.service.NotificationService;
+import com.udea.fe.service.NotificationStreamService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.security.Principal;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -15,6 +24,56 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
+    private final NdjsonWriter ndjsonWriter;
+
+    @GetMapping("/all")
+    public ResponseEntity<List<NotificationDTO>> getAll(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size
+    ) {
+        return CursorResponses.ok(notificationService.getAll(after, size));
+    }
+
+    @GetMapping(value = "/all", produces = NdjsonWriter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+        return ndjsonWriter.stream(notificationService::exportAll);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @AuthenticationPrincipal UserPrincipal user,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        return notificationStreamService.subscribe(user.getUserId(), lastEventId);
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> unreadCount(@AuthenticationPrincipal UserPrincipal user) {
+        return ResponseEntity.ok(Map.of("count", notificationService.countUnread(user.getUserId())));
+    }
+
+    @PatchMapping("/mark-all-read")
+    public ResponseEntity<Map<String, Integer>> markAllAsRead(@AuthenticationPrincipal UserPrincipal user) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAllAsRead(user.getUserId())));
+    }
+
+    @PatchMapping("/mark-read-by-ids")
+    public ResponseEntity<Map<String, Integer>> markAsReadByIds(
+            @AuthenticationPrincipal UserPrincipal user,
+            @RequestBody Set<Long> ids
+    ) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAsRead(user.getUserId(), ids)));
+    }
+
+    @PutMapping("/digest")
+    public ResponseEntity<Map<String, Boolean>> setDigest(
+            @AuthenticationPrincipal UserPrincipal user,
+            @RequestParam boolean enabled
+    ) {
+        notificationService.setDigest(user.getUserId(), enabled);
+        return ResponseEntity.ok(Map.of("digest", enabled));
+    }
 
     @GetMapping("/{id}")
     public ResponseEntity<NotificationDTO> getById(@PathVariable Long id) {
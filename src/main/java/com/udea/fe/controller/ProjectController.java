@@ -1,7 +1,10 @@
 package com.udea.fe.controller;
 
 import com.udea.fe.DTO.ProjectDTO;
+import com.udea.fe.DTO.ProjectDashboardDTO;
+import com.udea.fe.config.NdjsonWriter;
 import com.udea.fe.entity.ProjectStatus;
+import com.udea.fe.service.ProjectDashboardService;
 import com.udea.fe.service.ProjectService;
 
 import jakarta.validation.Valid;
@@ -11,9 +14,13 @@ import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/project")
@@ -23,6 +30,8 @@ public class ProjectController {
   private static final Logger logger = LoggerFactory.getLogger(ProjectController.class);
 
   private final ProjectService projectService;
+  private final ProjectDashboardService projectDashboardService;
+  private final NdjsonWriter ndjsonWriter;
 
   @GetMapping("/my-projects/{userId}")
   public ResponseEntity<List<ProjectDTO>> getMyProjects(@PathVariable Long userId) {
@@ -46,32 +55,54 @@ public class ProjectController {
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<ProjectDTO> getProjectById(@PathVariable Long id) {
+  public ResponseEntity<ProjectDTO> getProjectById(@PathVariable Long id, WebRequest request) {
+    if (request.checkNotModified(ETags.of("project", id, projectService.getVersion(id)))) {
+      return null;
+    }
     ProjectDTO projectDTO = projectService.getProjectById(id);
     return ResponseEntity.ok(projectDTO);
   }
 
+  @GetMapping("/{id}/dashboard")
+  @PreAuthorize("hasRole('ADMIN') or @projectAccess.canView(authentication, #id)")
+  public ResponseEntity<ProjectDashboardDTO> getProjectDashboard(@PathVariable Long id) {
+    return ResponseEntity.ok(projectDashboardService.getDashboard(id));
+  }
+
   @GetMapping("/all")
-  public ResponseEntity<List<ProjectDTO>> getAllProjects() {
-    List<ProjectDTO> projects = projectService.getAllProjects();
-    return ResponseEntity.ok(projects);
+  public ResponseEntity<List<ProjectDTO>> getAllProjects(
+    @RequestParam(required = false) Long after,
+    @RequestParam(required = false) Integer size,
+    WebRequest request
+  ) {
+    if (request.checkNotModified(ETags.collection("projects", projectService.getAllProjectsTag(after)))) {
+      return null;
+    }
+    return CursorResponses.ok(projectService.getAllProjects(after, size));
+  }
+
+  @GetMapping(value = "/all", produces = NdjsonWriter.MEDIA_TYPE)
+  public ResponseEntity<StreamingResponseBody> exportAllProjects() {
+    return ndjsonWriter.stream(projectService::exportAllProjects);
   }
 
   @PutMapping("/{id}/edit")
   public ResponseEntity<ProjectDTO> updateProject(
     @PathVariable Long id,
-    @Valid @RequestBody ProjectDTO projectDTO
+    @Valid @RequestBody ProjectDTO projectDTO,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
   ) {
-    ProjectDTO updatedProject = projectService.updateProject(id, projectDTO);
-    return ResponseEntity.ok(updatedProject);
+    ProjectDTO updatedProject = projectService.updateProject(id, projectDTO, ETags.expectedVersion(ifMatch, "project", id));
+    return ResponseEntity.ok().eTag(ETags.of("project", id, updatedProject.getVersion())).body(updatedProject);
   }
 
   @PatchMapping("/{id}/status")
   public ResponseEntity<ProjectDTO> updateProjectStatus(
     @PathVariable Long id,
-    @RequestParam ProjectStatus status
+    @RequestParam ProjectStatus status,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
   ) {
-    ProjectDTO updatedProject = projectService.changeProjectStatus(id, status);
-    return ResponseEntity.ok(updatedProject);
+    ProjectDTO updatedProject = projectService.changeProjectStatus(id, status, ETags.expectedVersion(ifMatch, "project", id));
+    return ResponseEntity.ok().eTag(ETags.of("project", id, updatedProject.getVersion())).body(updatedProject);
   }
 }
@@ -2,6 +2,7 @@ package com.udea.fe.controller;
 
 import com.udea.fe.DTO.SubmissionRequestDTO;
 import com.udea.fe.DTO.SubmissionResponseDTO;
+import com.udea.fe.config.NdjsonWriter;
 import com.udea.fe.service.SubmissionService;
 
 import java.security.Principal;
@@ -12,6 +13,8 @@ import org.slf4j.LoggerFactory;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/submissions")
@@ -20,10 +23,12 @@ public class SubmissionController {
   private static final Logger logger = LoggerFactory.getLogger(SubmissionController.class);
 
   private final SubmissionService submissionService;
+  private final NdjsonWriter ndjsonWriter;
 
   // Inyección por constructor
-  public SubmissionController(SubmissionService submissionService) {
+  public SubmissionController(SubmissionService submissionService, NdjsonWriter ndjsonWriter) {
     this.submissionService = submissionService;
+    this.ndjsonWriter = ndjsonWriter;
   }
 
   @PostMapping
@@ -39,21 +44,32 @@ public class SubmissionController {
   }
 
   @GetMapping
-  public ResponseEntity<List<SubmissionResponseDTO>> getAllSubmissions() {
-    logger.info("Llamada a getAllSubmissions");
+  public ResponseEntity<List<SubmissionResponseDTO>> getAllSubmissions(
+    @RequestParam(required = false) Long after,
+    @RequestParam(required = false) Integer size
+  ) {
+    logger.info("Llamada a getAllSubmissions después del ID: {} (tamaño: {})", after, size);
     try {
-      List<SubmissionResponseDTO> response = submissionService.getAllSubmissions();
-      return ResponseEntity.ok(response);
+      return CursorResponses.ok(submissionService.getAllSubmissions(after, size));
     } catch (Exception e) {
       logger.error("Error en getAllSubmissions: {}", e.getMessage(), e);
       return ResponseEntity.badRequest().build();
     }
   }
 
+  @GetMapping(produces = NdjsonWriter.MEDIA_TYPE)
+  public ResponseEntity<StreamingResponseBody> exportAllSubmissions() {
+    logger.info("Llamada a exportAllSubmissions");
+    return ndjsonWriter.stream(submissionService::exportAllSubmissions);
+  }
+
   @GetMapping("/{id}")
-  public ResponseEntity<SubmissionResponseDTO> getSubmissionById(@PathVariable Long id) {
+  public ResponseEntity<SubmissionResponseDTO> getSubmissionById(@PathVariable Long id, WebRequest request) {
     logger.info("Llamada a getSubmissionById con id: {}", id);
     try {
+      if (request.checkNotModified(ETags.of("submission", id, submissionService.getVersion(id)))) {
+        return null;
+      }
       SubmissionResponseDTO response = submissionService.getSubmissionById(id);
       return ResponseEntity.ok(response);
     } catch (Exception e) {
@@ -0,0 +1,29 @@
+package com.udea.fe.controller;
+
+import com.udea.fe.DTO.SyncResponseDTO;
+import com.udea.fe.security.model.UserPrincipal;
+import com.udea.fe.service.SyncService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync")
+@AllArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+
+    // Sin since (primera vez) la respuesta pide recarga completa y trae el cursor para continuar
+    @GetMapping
+    public ResponseEntity<SyncResponseDTO> getChanges(
+            @RequestParam(required = false) Long since,
+            @AuthenticationPrincipal UserPrincipal user
+    ) {
+        return ResponseEntity.ok(syncService.getChanges(since, user.getUserId(), user.getRole()));
+    }
+}
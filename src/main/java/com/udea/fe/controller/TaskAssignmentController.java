@@ -8,9 +8,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.udea.fe.DTO.BulkTaskAssignmentRequestDTO;
+import com.udea.fe.DTO.BulkTaskAssignmentResponseDTO;
 import com.udea.fe.DTO.TaskAssignmentRequestDTO;
 import com.udea.fe.DTO.TaskAssignmentResponseDTO;
-import com.udea.fe.entity.User;
+import com.udea.fe.DTO.UserSummaryDTO;
 import com.udea.fe.service.TaskAssignmentService;
 
 @RestController
@@ -38,11 +40,27 @@ public class TaskAssignmentController {
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTaskAssignmentResponseDTO> assignTasks(@RequestBody BulkTaskAssignmentRequestDTO request) {
+        if (request.getTaskIds() == null || request.getUserIds() == null || request.getTeamIds() == null) {
+            logger.warn("Asignación masiva rechazada: taskIds, userIds y teamIds no pueden ser nulos");
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            logger.info("Asignando {} tareas a {} usuarios y {} equipos",
+                    request.getTaskIds().size(), request.getUserIds().size(), request.getTeamIds().size());
+            return ResponseEntity.ok(taskAssignmentService.assignTasks(request));
+        } catch (Exception e) {
+            logger.error("Error en la asignación masiva: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/task/{taskId}/users")
-    public ResponseEntity<List<User>> getUsersAssignedToTask(@PathVariable Long taskId) {
+    public ResponseEntity<List<UserSummaryDTO>> getUsersAssignedToTask(@PathVariable Long taskId) {
         try {
             logger.info("Obteniendo usuarios asignados a la tarea con ID: {}", taskId);
-            List<User> users = taskAssignmentService.getUsersAssignedToTask(taskId);
+            List<UserSummaryDTO> users = taskAssignmentService.getUsersAssignedToTask(taskId);
             return ResponseEntity.ok(users);
         } catch (Exception e) {
             logger.error("Error al obtener usuarios asignados: {}", e.getMessage(), e);
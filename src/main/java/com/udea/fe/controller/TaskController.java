@@ -1,19 +1,30 @@
 package com.udea.fe.controller;
 
+import com.udea.fe.DTO.CursorPage;
 import com.udea.fe.DTO.TaskDTO;
+import com.udea.fe.DTO.TaskStatusBulkRequestDTO;
+import com.udea.fe.DTO.TaskStatusBulkResultDTO;
+import com.udea.fe.config.NdjsonWriter;
+import com.udea.fe.entity.TaskPriority;
 import com.udea.fe.entity.TaskStatus;
+import com.udea.fe.security.model.UserPrincipal;
 import com.udea.fe.service.TaskService;
 
-import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -23,6 +34,7 @@ public class TaskController {
   private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
 
   private final TaskService taskService;
+  private final NdjsonWriter ndjsonWriter;
 
   @PostMapping("/create_task")
   public ResponseEntity<TaskDTO> createTask(@RequestBody TaskDTO taskDTO) {
@@ -32,47 +44,85 @@ public class TaskController {
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id) {
+  public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long id, WebRequest request) {
     logger.info("Obteniendo tarea con ID: {}", id);
+    if (request.checkNotModified(ETags.of("task", id, taskService.getVersion(id)))) {
+      return null;
+    }
     TaskDTO taskDTO = taskService.getTaskById(id);
     return ResponseEntity.ok(taskDTO);
   }
 
   @GetMapping("/all")
-  public ResponseEntity<List<TaskDTO>> getAllTasks() {
-    logger.info("Obteniendo todas las tareas");
-    List<TaskDTO> tasks = taskService.getAllTasks();
-    return ResponseEntity.ok(tasks);
+  public ResponseEntity<List<TaskDTO>> getAllTasks(
+    @RequestParam(required = false) Long after,
+    @RequestParam(required = false) Integer size
+  ) {
+    logger.info("Obteniendo tareas después del ID: {} (tamaño: {})", after, size);
+    return CursorResponses.ok(taskService.getAllTasks(after, size));
+  }
+
+  @GetMapping(value = "/all", produces = NdjsonWriter.MEDIA_TYPE)
+  public ResponseEntity<StreamingResponseBody> exportAllTasks() {
+    logger.info("Exportando todas las tareas en NDJSON");
+    return ndjsonWriter.stream(taskService::exportAllTasks);
   }
 
   @PutMapping("/{id}/edit")
   public ResponseEntity<TaskDTO> updateTask(
     @PathVariable Long id,
-    @RequestBody TaskDTO taskDTO
+    @RequestBody TaskDTO taskDTO,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
   ) {
     logger.info("Actualizando tarea con ID: {} con datos: {}", id, taskDTO);
-    TaskDTO updatedTask = taskService.updateTask(id, taskDTO);
-    return ResponseEntity.ok(updatedTask);
+    TaskDTO updatedTask = taskService.updateTask(id, taskDTO, ETags.expectedVersion(ifMatch, "task", id));
+    return ResponseEntity.ok().eTag(ETags.of("task", id, updatedTask.getVersion())).body(updatedTask);
   }
 
   @PatchMapping("/{id}/status")
   public ResponseEntity<TaskDTO> updateTaskStatus(
     @PathVariable Long id,
-    @RequestParam TaskStatus status
+    @RequestParam TaskStatus status,
+    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
   ) {
     logger.info("Actualizando estado de la tarea con ID: {} a: {}", id, status);
-    TaskDTO updatedTask = taskService.updateTaskStatus(id, status);
-    return ResponseEntity.ok(updatedTask);
+    TaskDTO updatedTask = taskService.updateTaskStatus(id, status, ETags.expectedVersion(ifMatch, "task", id));
+    return ResponseEntity.ok().eTag(ETags.of("task", id, updatedTask.getVersion())).body(updatedTask);
+  }
+
+  @PatchMapping("/status")
+  public ResponseEntity<TaskStatusBulkResultDTO> updateTasksStatus(@RequestBody TaskStatusBulkRequestDTO request) {
+    if (request.getTaskIds() == null || request.getStatus() == null) {
+      logger.warn("Cambio de estado masivo rechazado: taskIds y status son obligatorios");
+      return ResponseEntity.badRequest().build();
+    }
+    logger.info("Actualizando estado de {} tareas a: {}", request.getTaskIds().size(), request.getStatus());
+    return ResponseEntity.ok(taskService.updateTasksStatus(request.getTaskIds(), request.getStatus()));
   }
 
   @GetMapping("/project/{projectId}")
   public ResponseEntity<List<TaskDTO>> getTasksByProject(
     @PathVariable Long projectId,
-    Principal principal
+    @RequestParam(required = false) TaskStatus status,
+    @RequestParam(required = false) TaskPriority priority,
+    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+    @RequestParam(required = false) Long after,
+    @RequestParam(required = false) Integer size,
+    @AuthenticationPrincipal UserPrincipal user,
+    WebRequest request
   ) {
     logger.info("Obteniendo tareas del proyecto con ID: {}", projectId);
-    String userEmail = principal.getName();
-    List<TaskDTO> tasks = taskService.getTasksByProjectIdAndUser(projectId, userEmail);
-    return ResponseEntity.ok(tasks);
+    // La huella depende del usuario: un estudiante solo ve sus tareas asignadas
+    String tag = taskService.getVisibleTasksTag(projectId, user.getUserId());
+    if (request.checkNotModified(ETags.collection("tasks", user.getUserId() + "-" + tag))) {
+      return null;
+    }
+    CursorPage<TaskDTO> page = taskService.getTasksByProjectIdAndUser(
+      projectId, user.getUserId(), user.getRole(),
+      status, priority, dueAfter, dueBefore, after, size
+    );
+
+    return CursorResponses.ok(page);
   }
 }
@@ -1,18 +1,22 @@
 package com.udea.fe.controller;
 
 import com.udea.fe.DTO.TeamDTO;
-import com.udea.fe.entity.UserTeam;
+import com.udea.fe.DTO.TeamMemberDTO;
 import com.udea.fe.service.TeamService;
 
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/teams")
@@ -30,24 +34,32 @@ public class TeamController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TeamDTO> getTeamById(@PathVariable Long id) {
+    public ResponseEntity<TeamDTO> getTeamById(@PathVariable Long id, WebRequest request) {
         logger.info("Solicitud para obtener información de un equipo por ID");
+        if (request.checkNotModified(ETags.of("team", id, teamService.getVersion(id)))) {
+            return null;
+        }
         return ResponseEntity.ok(teamService.getTeamById(id));
     }
 
     @GetMapping("/project/{projectId}/all")
-    public ResponseEntity<List<TeamDTO>> getTeamsByProject(@PathVariable Long projectId) {
+    public ResponseEntity<List<TeamDTO>> getTeamsByProject(@PathVariable Long projectId, WebRequest request) {
         logger.info("Solicitud para listar equipos de un proyecto");
+        if (request.checkNotModified(ETags.collection("teams", projectId + "-" + teamService.getTeamsTag(projectId)))) {
+            return null;
+        }
         return ResponseEntity.ok(teamService.getTeamsByProject(projectId));
     }
 
     @PutMapping("/{id}/edit")
     public ResponseEntity<TeamDTO> updateTeam(
             @PathVariable Long id,
-            @RequestBody TeamDTO teamDTO
+            @RequestBody TeamDTO teamDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         logger.info("Solicitud para actualizar un equipo");
-        return ResponseEntity.ok(teamService.updateTeam(id, teamDTO));
+        TeamDTO updatedTeam = teamService.updateTeam(id, teamDTO, ETags.expectedVersion(ifMatch, "team", id));
+        return ResponseEntity.ok().eTag(ETags.of("team", id, updatedTeam.getVersion())).body(updatedTeam);
     }
 
     @DeleteMapping("/{id}/delete")
@@ -69,11 +81,17 @@ public class TeamController {
     }
 
     @GetMapping("/{teamId}/users")
-    public ResponseEntity<List<UserTeam>> getUsersByTeam(@PathVariable Long teamId) {
+    public ResponseEntity<List<TeamMemberDTO>> getUsersByTeam(@PathVariable Long teamId) {
         logger.info("Solicitud para obtener usuarios de un equipo");
         return ResponseEntity.ok(teamService.getUsersByTeam(teamId));
     }
 
+    @GetMapping("/users")
+    public ResponseEntity<Map<Long, List<TeamMemberDTO>>> getUsersByTeams(@RequestParam Set<Long> teamIds) {
+        logger.info("Solicitud para obtener usuarios de {} equipos", teamIds.size());
+        return ResponseEntity.ok(teamService.getUsersByTeams(teamIds));
+    }
+
     @DeleteMapping("/{teamId}/users/{userId}")
     public ResponseEntity<String> removeUserFromTeam(
             @PathVariable Long teamId,
@@ -1,20 +1,27 @@
 package com.udea.fe.controller;
 
+import com.udea.fe.DTO.RosterImportResultDTO;
 import com.udea.fe.DTO.UserDTO;
+import com.udea.fe.service.RosterImportService;
 import com.udea.fe.service.UserService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/api/users")
 @AllArgsConstructor
 public class UserController {
 
   private final UserService userService;
+  private final RosterImportService rosterImportService;
 
   @PreAuthorize("hasRole('ADMIN')")
   @PostMapping("/register")
@@ -25,6 +32,19 @@ public class UserController {
     return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
   }
 
+  // Importación masiva: el cuerpo se lee en streaming y las filas inválidas se reportan sin abortar el resto
+  @PreAuthorize("hasRole('ADMIN')")
+  @PostMapping(value = "/import", consumes = "text/csv")
+  public ResponseEntity<RosterImportResultDTO> importUsersCsv(InputStream body) throws IOException {
+    return ResponseEntity.ok(rosterImportService.importCsv(body));
+  }
+
+  @PreAuthorize("hasRole('ADMIN')")
+  @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<RosterImportResultDTO> importUsersJson(InputStream body) throws IOException {
+    return ResponseEntity.ok(rosterImportService.importJson(body));
+  }
+
   @GetMapping("/all")
   public ResponseEntity<Iterable<UserDTO>> getAllUsers() {
     Iterable<UserDTO> users = userService.getAllUsers();
@@ -3,9 +3,11 @@ package com.udea.fe.controller;
 import com.udea.fe.DTO.WorkspaceDTO;
 import com.udea.fe.service.WorkspaceService;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -23,7 +25,10 @@ public class WorkspaceController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<WorkspaceDTO> getWorkspaceById(@PathVariable Long id) {
+    public ResponseEntity<WorkspaceDTO> getWorkspaceById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(ETags.of("workspace", id, workspaceService.getVersion(id)))) {
+            return null;
+        }
         WorkspaceDTO workspaceDTO = workspaceService.getWorkspaceById(id);
         return ResponseEntity.ok(workspaceDTO);
     }
@@ -35,9 +40,14 @@ public class WorkspaceController {
     }
 
     @PutMapping("/{id}/edit")
-    public ResponseEntity<WorkspaceDTO> updateWorkspace(@PathVariable Long id, @RequestBody WorkspaceDTO workspaceDTO) {
-        WorkspaceDTO updatedWorkspace = workspaceService.updateWorkspace(id, workspaceDTO);
-        return ResponseEntity.ok(updatedWorkspace);
+    public ResponseEntity<WorkspaceDTO> updateWorkspace(
+            @PathVariable Long id,
+            @RequestBody WorkspaceDTO workspaceDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        WorkspaceDTO updatedWorkspace = workspaceService.updateWorkspace(
+                id, workspaceDTO, ETags.expectedVersion(ifMatch, "workspace", id));
+        return ResponseEntity.ok().eTag(ETags.of("workspace", id, updatedWorkspace.getVersion())).body(updatedWorkspace);
     }
 
     @DeleteMapping("/{id}/delete")
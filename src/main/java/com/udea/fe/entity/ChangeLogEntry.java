@@ -0,0 +1,48 @@
+package com.udea.fe.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Cambio de una entidad, escrito en la misma transacción que lo produce (V5__change_log.sql).
+ * Solo guarda a qué se refiere y quién puede verlo; el estado se lee de la entidad al sincronizar.
+ */
+@Entity
+@Table(name = "change_log")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_log_seq")
+    @SequenceGenerator(name = "change_log_seq", sequenceName = "change_log_seq", allocationSize = 50)
+    private Long changeId;
+
+    // Lo asigna la base (txid_current()) al insertar
+    @Column(insertable = false, updatable = false)
+    private Long txid;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private ChangeType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    private boolean deleted;
+
+    // Proyecto al que pertenece (visibilidad por pertenencia) y usuario dueño (notificaciones, entregas)
+    private Long projectId;
+    private Long userId;
+
+    public ChangeLogEntry(ChangeType entityType, Long entityId, boolean deleted, Long projectId, Long userId) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.deleted = deleted;
+        this.projectId = projectId;
+        this.userId = userId;
+    }
+}
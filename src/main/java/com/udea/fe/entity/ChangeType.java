@@ -0,0 +1,6 @@
+package com.udea.fe.entity;
+
+/** Tipo de entidad de una fila de {@link ChangeLogEntry}. MEMBERSHIP marca un cambio en los proyectos visibles del usuario. */
+public enum ChangeType {
+    PROJECT, TEAM, TASK, SUBMISSION, FEEDBACK, NOTIFICATION, MEMBERSHIP
+}
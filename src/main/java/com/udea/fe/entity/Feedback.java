@@ -5,11 +5,15 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "feedbacks")
+@Table(name = "feedbacks", indexes = {
+        @Index(name = "idx_feedbacks_submission_id", columnList = "submission_id"),
+        @Index(name = "idx_feedbacks_parent_feedback_id", columnList = "parent_feedback_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,4 +39,9 @@ public class Feedback {
     @ManyToOne
     @JoinColumn(name = "parent_feedback_id")
     private Feedback parentFeedback;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -9,7 +9,8 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "feedbacks_responses")
+@Table(name = "feedbacks_responses",
+        indexes = @Index(name = "idx_feedbacks_responses_feedback_id", columnList = "feedback_id"))
 @Getter
 @Setter
 @NoArgsConstructor
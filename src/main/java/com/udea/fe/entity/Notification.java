@@ -9,18 +9,22 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
+// Tabla particionada por mes: el índice y la FK a users los crea V2__notifications_partitioning.sql,
+// porque Hibernate no ve los de una tabla particionada e intentaría recrearlos en cada arranque
 @Table(name = "notifications")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Notification {
+    // Secuencia con bloques de 50 (V1__notifications_sequence.sql): permite que Hibernate agrupe los INSERT en lotes
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long notificationId;
 
     @ManyToOne
-    @JoinColumn(name = "user_id")
+    @JoinColumn(name = "user_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user;
 
     private String message;
@@ -29,12 +33,17 @@ public class Notification {
 
     private boolean isRead = false;
 
+    // Clave de partición (V2__notifications_partitioning.sql)
+    @Column(nullable = false)
     private LocalDateTime createdAt;
 
     private LocalDateTime readAt;
 
     @PrePersist
     public void prePersist() {
-        createdAt = LocalDateTime.now();
+        // Las que llegan desde el outbox conservan la hora en que se originaron
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
 }
@@ -0,0 +1,39 @@
+package com.udea.fe.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificación pendiente de entregar. Se escribe en la misma transacción que la operación
+ * que la origina y el despachador la convierte en {@link Notification} en segundo plano.
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long outboxId;
+
+    // Solo el id: encolar no debe consultar al usuario
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    private String message;
+    private String type;
+
+    // Objeto al que se refiere (p. ej. "SUBMISSION:12"); junto con usuario y tipo define qué se agrupa
+    private String target;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,26 @@
+package com.udea.fe.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Preferencias de entrega por usuario. Con {@code digest} activo, sus notificaciones se
+ * acumulan en el outbox y se entregan como un único resumen periódico.
+ */
+@Entity
+@Table(name = "notification_preferences")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPreference {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    private boolean digest;
+}
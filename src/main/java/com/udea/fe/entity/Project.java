@@ -6,11 +6,14 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+        @Index(name = "idx_projects_created_by", columnList = "created_by")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,4 +36,9 @@ public class Project {
     @ManyToOne
     @JoinColumn(name = "created_by")
     private User createdBy;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -7,9 +7,12 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "submissions")
+@Table(name = "submissions", indexes = {
+        @Index(name = "idx_submissions_task_id", columnList = "task_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -36,4 +39,9 @@ public class Submission {
   @ManyToOne
   @JoinColumn(name = "user_id")
   private User user;
+
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
 }
@@ -5,11 +5,14 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_project_id", columnList = "project_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -40,5 +43,9 @@ public class Task {
     @JoinColumn(name = "project_id")
     private Project project;
 
-
+    // Control de concurrencia optimista; también es la base del ETag del recurso
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -5,7 +5,9 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "task_assignment")
+@Table(name = "task_assignment", indexes = {
+        @Index(name = "idx_task_assignment_task_id", columnList = "task_id")
+})
 @Getter
 @Setter
 
@@ -5,9 +5,12 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "teams")
+@Table(name = "teams", indexes = {
+        @Index(name = "idx_teams_project_id", columnList = "project_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,4 +31,9 @@ public class Team {
     @ManyToOne
     @JoinColumn(name = "leader_id")
     private User leader;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
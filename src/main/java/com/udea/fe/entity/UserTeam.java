@@ -5,7 +5,9 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "user_teams")
+@Table(name = "user_teams", indexes = {
+        @Index(name = "idx_user_teams_user_id", columnList = "user_id")
+})
 @Getter
 @Setter
 public class UserTeam {
@@ -0,0 +1,16 @@
+package com.udea.fe.exception;
+
+/** La versión enviada en If-Match ya no es la actual: el recurso cambió desde que el cliente lo leyó. */
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+
+    /** Sin versión esperada (sin If-Match) no hay nada que comprobar. */
+    public static void check(Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new VersionConflictException(
+                    "El recurso fue modificado (versión actual " + currentVersion + ", esperada " + expectedVersion + ")");
+        }
+    }
+}
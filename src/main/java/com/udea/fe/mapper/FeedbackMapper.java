@@ -0,0 +1,23 @@
+package com.udea.fe.mapper;
+
+import com.udea.fe.entity.Feedback;
+import com.udea.fe.DTO.FeedbackDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface FeedbackMapper {
+
+    @Mapping(target = "createdById", source = "createdBy.userId")
+    @Mapping(target = "submissionId", source = "submission.submissionId")
+    @Mapping(target = "parentFeedbackId", source = "parentFeedback.feedbackId")
+    FeedbackDTO toDTO(Feedback feedback);
+
+    @Mapping(target = "feedbackId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "submission", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "parentFeedback", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Feedback toEntity(FeedbackDTO feedbackDTO);
+}
@@ -0,0 +1,21 @@
+package com.udea.fe.mapper;
+
+import com.udea.fe.entity.Notification;
+import com.udea.fe.DTO.NotificationDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface NotificationMapper {
+
+    @Mapping(target = "id", source = "notificationId")
+    @Mapping(target = "userId", source = "user.userId")
+    NotificationDTO toDTO(Notification notification);
+
+    @Mapping(target = "notificationId", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "read", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "readAt", ignore = true)
+    Notification toEntity(NotificationDTO notificationDTO);
+}
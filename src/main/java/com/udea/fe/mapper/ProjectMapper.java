@@ -2,9 +2,12 @@ package com.udea.fe.mapper;
 
 import com.udea.fe.entity.Project;
 import com.udea.fe.DTO.ProjectDTO;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 @Mapper(componentModel = "spring")
 public interface ProjectMapper {
@@ -12,5 +15,18 @@ public interface ProjectMapper {
     @Mapping(target = "id", source = "projectId")
     @Mapping(target = "createdById", source = "createdBy.userId")
     ProjectDTO toDTO(Project project);
-}
 
+    @Mapping(target = "projectId", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Project toEntity(ProjectDTO projectDTO);
+
+    // El estado solo cambia por changeProjectStatus
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "projectId", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateEntity(ProjectDTO projectDTO, @MappingTarget Project project);
+}
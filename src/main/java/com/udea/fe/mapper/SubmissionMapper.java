@@ -0,0 +1,15 @@
+package com.udea.fe.mapper;
+
+import com.udea.fe.entity.Submission;
+import com.udea.fe.DTO.SubmissionResponseDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface SubmissionMapper {
+
+    @Mapping(target = "taskId", source = "task.taskId")
+    @Mapping(target = "userId", source = "user.userId")
+    @Mapping(target = "userName", source = "user.name")
+    SubmissionResponseDTO toDTO(Submission submission);
+}
@@ -2,8 +2,11 @@ package com.udea.fe.mapper;
 
 import com.udea.fe.entity.Task;
 import com.udea.fe.DTO.TaskDTO;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 @Mapper(componentModel = "spring")
 public interface TaskMapper {
@@ -12,4 +15,22 @@ public interface TaskMapper {
     @Mapping(target = "projectId", source = "project.projectId")
     @Mapping(target = "createdById", source = "createdBy.userId")
     TaskDTO toDTO(Task task);
+
+    // Relaciones, estado y fechas de auditoría las asigna el servicio
+    @Mapping(target = "taskId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "project", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Task toEntity(TaskDTO taskDTO);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "taskId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "project", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateEntity(TaskDTO taskDTO, @MappingTarget Task task);
 }
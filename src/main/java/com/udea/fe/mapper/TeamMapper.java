@@ -0,0 +1,21 @@
+package com.udea.fe.mapper;
+
+import com.udea.fe.entity.Team;
+import com.udea.fe.DTO.TeamDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface TeamMapper {
+
+    @Mapping(target = "id", source = "teamId")
+    @Mapping(target = "projectId", source = "project.projectId")
+    @Mapping(target = "leaderId", source = "leader.userId")
+    TeamDTO toDTO(Team team);
+
+    @Mapping(target = "teamId", ignore = true)
+    @Mapping(target = "project", ignore = true)
+    @Mapping(target = "leader", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Team toEntity(TeamDTO teamDTO);
+}
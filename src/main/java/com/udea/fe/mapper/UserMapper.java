@@ -0,0 +1,19 @@
+package com.udea.fe.mapper;
+
+import com.udea.fe.entity.User;
+import com.udea.fe.DTO.UserDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface UserMapper {
+
+    // El hash de la contraseña nunca sale en las respuestas
+    @Mapping(target = "id", source = "userId")
+    @Mapping(target = "password", ignore = true)
+    UserDTO toDTO(User user);
+
+    @Mapping(target = "userId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    User toEntity(UserDTO userDTO);
+}
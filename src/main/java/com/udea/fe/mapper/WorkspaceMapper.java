@@ -0,0 +1,28 @@
+package com.udea.fe.mapper;
+
+import com.udea.fe.entity.Workspace;
+import com.udea.fe.DTO.WorkspaceDTO;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+@Mapper(componentModel = "spring")
+public interface WorkspaceMapper {
+
+    @Mapping(target = "id", source = "workspaceId")
+    @Mapping(target = "projectId", source = "project.projectId")
+    WorkspaceDTO toDTO(Workspace workspace);
+
+    @Mapping(target = "workspaceId", ignore = true)
+    @Mapping(target = "project", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Workspace toEntity(WorkspaceDTO workspaceDTO);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "workspaceId", ignore = true)
+    @Mapping(target = "project", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateEntity(WorkspaceDTO workspaceDTO, @MappingTarget Workspace workspace);
+}
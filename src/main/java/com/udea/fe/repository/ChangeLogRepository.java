@@ -0,0 +1,50 @@
+package com.udea.fe.repository;
+
+import com.udea.fe.entity.ChangeLogEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    // Todas las transacciones con txid menor ya terminaron: lo que escribieron es visible y nada nuevo
+    // puede aparecer por debajo. Es el límite superior seguro para el cursor.
+    @Query(value = "SELECT txid_snapshot_xmin(txid_current_snapshot())", nativeQuery = true)
+    long currentWatermark();
+
+    @Query(value = "SELECT purged_before FROM change_log_horizon WHERE id = 1", nativeQuery = true)
+    long purgedBefore();
+
+    // Cambios de [since, until) que el usuario puede ver, en orden de transacción. Notificaciones y
+    // pertenencia: solo las propias. El resto exige ser miembro del proyecto (salvo ADMIN); con seeAll
+    // (docente o ADMIN) se ve todo el proyecto, un estudiante solo sus tareas asignadas y sus entregas.
+    // Las bajas se muestran a todos los miembros: la tarea o entrega ya no existe para comprobar más.
+    @Query(value = """
+            SELECT c.* FROM change_log c
+            WHERE c.txid >= :since AND c.txid < :until
+              AND CASE
+                    WHEN c.entity_type IN ('NOTIFICATION', 'MEMBERSHIP') THEN c.user_id = :userId
+                    WHEN NOT (:admin OR c.project_id IN (
+                                SELECT p.project_id FROM projects p WHERE p.created_by = :userId
+                                UNION
+                                SELECT t.project_id FROM teams t JOIN user_teams ut ON ut.team_id = t.team_id
+                                WHERE ut.user_id = :userId)) THEN FALSE
+                    WHEN :seeAll OR c.deleted OR c.entity_type IN ('PROJECT', 'TEAM') THEN TRUE
+                    WHEN c.entity_type = 'TASK' THEN EXISTS (
+                                SELECT 1 FROM task_assignment a
+                                WHERE a.task_id = c.entity_id
+                                  AND ((UPPER(a.assigned_type) = 'USER' AND a.assigned_id = :userId)
+                                    OR (UPPER(a.assigned_type) = 'TEAM' AND a.assigned_id IN (
+                                          SELECT ut.team_id FROM user_teams ut WHERE ut.user_id = :userId))))
+                    ELSE c.user_id = :userId
+                  END
+            ORDER BY c.txid, c.change_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ChangeLogEntry> findVisible(long since, long until, Long userId, boolean admin, boolean seeAll, int limit);
+
+    @Query(value = "SELECT change_log_purge(:cutoff)", nativeQuery = true)
+    int purge(LocalDateTime cutoff);
+}
@@ -1,7 +1,40 @@
 package com.udea.fe.repository;
 
+import com.udea.fe.DTO.FeedbackDTO;
 import com.udea.fe.entity.Feedback;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+
+    String SELECT_DTO = """
+        SELECT new com.udea.fe.DTO.FeedbackDTO(f.feedbackId, f.comment, f.rating, cb.userId,
+                                               s.submissionId, pf.feedbackId, f.version)
+        FROM Feedback f LEFT JOIN f.createdBy cb LEFT JOIN f.submission s LEFT JOIN f.parentFeedback pf
+        """;
+
+    @Query(SELECT_DTO + "WHERE s.submissionId = :submissionId ORDER BY f.feedbackId")
+    List<FeedbackDTO> findDTOsBySubmissionId(Long submissionId);
+
+    @Query(SELECT_DTO + "WHERE (:after IS NULL OR f.feedbackId > :after) ORDER BY f.feedbackId")
+    List<FeedbackDTO> findPageAfter(Long after, Pageable pageable);
+
+    @Query(SELECT_DTO + "ORDER BY f.feedbackId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<FeedbackDTO> streamAll();
+
+    @Query(SELECT_DTO + "WHERE f.feedbackId IN :ids ORDER BY f.feedbackId")
+    List<FeedbackDTO> findDTOsByIds(Collection<Long> ids);
+
+    @Query("SELECT f.version FROM Feedback f WHERE f.feedbackId = :feedbackId")
+    Optional<Long> findVersionById(Long feedbackId);
 }
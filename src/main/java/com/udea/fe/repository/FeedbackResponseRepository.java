@@ -1,7 +1,33 @@
 package com.udea.fe.repository;
 
+import com.udea.fe.DTO.FeedbackResponseDTO;
 import com.udea.fe.entity.FeedbackResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface FeedbackResponseRepository extends JpaRepository<FeedbackResponse, Long> {
+
+    String SELECT_DTO = """
+        SELECT new com.udea.fe.DTO.FeedbackResponseDTO(r.feedbackResponseId, r.comment, r.responseDate,
+                                                       f.feedbackId, cb.userId)
+        FROM FeedbackResponse r LEFT JOIN r.feedback f LEFT JOIN r.createdBy cb
+        """;
+
+    // Todas las respuestas del hilo de una entrega, en una sola consulta
+    @Query(SELECT_DTO + "WHERE f.submission.submissionId = :submissionId ORDER BY r.feedbackResponseId")
+    List<FeedbackResponseDTO> findDTOsBySubmissionId(Long submissionId);
+
+    @Query(SELECT_DTO + "WHERE (:after IS NULL OR r.feedbackResponseId > :after) ORDER BY r.feedbackResponseId")
+    List<FeedbackResponseDTO> findPageAfter(Long after, Pageable pageable);
+
+    @Query(SELECT_DTO + "ORDER BY r.feedbackResponseId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<FeedbackResponseDTO> streamAll();
 }
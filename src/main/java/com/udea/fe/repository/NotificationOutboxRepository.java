@@ -0,0 +1,67 @@
+package com.udea.fe.repository;
+
+import com.udea.fe.entity.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // Un grupo (usuario, tipo, objetivo) se reclama bloqueando su entrada más antigua con SKIP LOCKED:
+    // cada nodo toma grupos distintos y ninguno queda repartido entre lotes. Un grupo se libera completo
+    // cuando alguna entrada supera la ventana de agrupación; se excluyen los usuarios con resumen periódico.
+    // Los grupos salen de una sola agregación; COALESCE iguala los NULL y coincide con idx_notification_outbox_group.
+    @Query(value = """
+            SELECT o.outbox_id FROM notification_outbox o
+            WHERE o.outbox_id IN (
+                SELECT MIN(g.outbox_id) FROM notification_outbox g
+                WHERE NOT EXISTS (SELECT 1 FROM notification_preferences p WHERE p.user_id = g.user_id AND p.digest)
+                GROUP BY g.user_id, COALESCE(g.type, ''), COALESCE(g.target, '')
+                HAVING MIN(g.created_at) <= :cutoff)
+            ORDER BY o.outbox_id
+            LIMIT :batchSize
+            FOR UPDATE OF o SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockNextGroups(LocalDateTime cutoff, int batchSize);
+
+    // Todas las entradas de los grupos reclamados; otro nodo no las toca porque no tiene su entrada más antigua
+    @Query(value = """
+            SELECT o.* FROM notification_outbox l
+            JOIN notification_outbox o ON o.user_id = l.user_id
+                                      AND COALESCE(o.type, '') = COALESCE(l.type, '')
+                                      AND COALESCE(o.target, '') = COALESCE(l.target, '')
+            WHERE l.outbox_id IN (:leaderIds)
+            ORDER BY o.user_id, o.type, o.target, o.outbox_id
+            FOR UPDATE OF o
+            """, nativeQuery = true)
+    List<NotificationOutbox> lockGroups(Collection<Long> leaderIds);
+
+    // Para el resumen el grupo es el usuario: se reclama con su entrada más antigua
+    @Query(value = """
+            SELECT o.user_id FROM notification_outbox o
+            WHERE o.outbox_id IN (
+                SELECT MIN(g.outbox_id) FROM notification_outbox g
+                WHERE EXISTS (SELECT 1 FROM notification_preferences p WHERE p.user_id = g.user_id AND p.digest)
+                GROUP BY g.user_id)
+            ORDER BY o.outbox_id
+            LIMIT :batchSize
+            FOR UPDATE OF o SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockNextDigestUsers(int batchSize);
+
+    @Query(value = """
+            SELECT o.* FROM notification_outbox o
+            WHERE o.user_id IN (:userIds)
+            ORDER BY o.user_id, o.outbox_id
+            FOR UPDATE OF o
+            """, nativeQuery = true)
+    List<NotificationOutbox> lockEntriesOf(Collection<Long> userIds);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.outboxId IN :ids")
+    int deleteByIds(Collection<Long> ids);
+}
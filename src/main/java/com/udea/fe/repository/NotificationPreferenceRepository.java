@@ -0,0 +1,7 @@
+package com.udea.fe.repository;
+
+import com.udea.fe.entity.NotificationPreference;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface NotificationPreferenceRepository extends JpaRepository<NotificationPreference, Long> {
+}
@@ -1,11 +1,71 @@
 package com.udea.fe.repository;
 
+import com.udea.fe.DTO.NotificationDTO;
 import com.udea.fe.entity.Notification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    String SELECT_DTO = """
+        SELECT new com.udea.fe.DTO.NotificationDTO(n.notificationId, u.userId, n.message, n.type, n.isRead,
+                                                   n.createdAt, n.readAt)
+        FROM Notification n LEFT JOIN n.user u
+        """;
+
     List<Notification> findByUserUserId(Long userId);
-    List<Notification> findByUserUserIdAndIsReadFalse(Long userId);
+
+    // Las consultas de no leídas se acotan por createdAt para que PostgreSQL solo recorra las particiones recientes
+    @Query("SELECT n FROM Notification n WHERE n.user.userId = :userId AND n.isRead = false AND n.createdAt >= :since")
+    List<Notification> findUnread(Long userId, LocalDateTime since);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.userId = :userId AND n.isRead = false AND n.createdAt >= :since")
+    long countUnread(Long userId, LocalDateTime since);
+
+    // Devuelven los ids que cambiaron (RETURNING), que van al registro de cambios
+    @Query(value = """
+        UPDATE notifications SET is_read = TRUE, read_at = :readAt
+        WHERE user_id = :userId AND NOT is_read AND created_at >= :since
+        RETURNING notification_id
+        """, nativeQuery = true)
+    List<Long> markAllRead(Long userId, LocalDateTime since, LocalDateTime readAt);
+
+    @Query(value = """
+        UPDATE notifications SET is_read = TRUE, read_at = :readAt
+        WHERE user_id = :userId AND notification_id IN (:ids) AND NOT is_read AND created_at >= :since
+        RETURNING notification_id
+        """, nativeQuery = true)
+    List<Long> markReadByIds(Long userId, Collection<Long> ids, LocalDateTime since, LocalDateTime readAt);
+
+    @Query(value = "SELECT notifications_ensure_partitions(:monthsAhead)", nativeQuery = true)
+    int ensurePartitions(int monthsAhead);
+
+    @Query(value = "SELECT notifications_ensure_user_fk()", nativeQuery = true)
+    boolean ensureUserForeignKey();
+
+    @Query(value = "SELECT notifications_purge_partitions(:keepMonths, :archive)", nativeQuery = true)
+    int purgePartitions(int keepMonths, boolean archive);
+
+    // Notificaciones que el cliente no alcanzó a recibir antes de reconectarse (Last-Event-ID)
+    @Query(SELECT_DTO + "WHERE u.userId = :userId AND n.notificationId > :after ORDER BY n.notificationId")
+    List<NotificationDTO> findForUserAfter(Long userId, Long after, Pageable pageable);
+
+    @Query(SELECT_DTO + "WHERE u.userId = :userId AND n.notificationId IN :ids ORDER BY n.notificationId")
+    List<NotificationDTO> findDTOsForUserByIds(Long userId, Collection<Long> ids);
+
+    @Query(SELECT_DTO + "WHERE (:after IS NULL OR n.notificationId > :after) ORDER BY n.notificationId")
+    List<NotificationDTO> findPageAfter(Long after, Pageable pageable);
+
+    @Query(SELECT_DTO + "ORDER BY n.notificationId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<NotificationDTO> streamAll();
 }
@@ -1,12 +1,112 @@
 package com.udea.fe.repository;
 
+import com.udea.fe.DTO.ProjectDTO;
+import com.udea.fe.DTO.ProjectMembershipDTO;
 import com.udea.fe.entity.Project;
+import com.udea.fe.entity.ProjectStatus;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
-    List<Project> findByCreatedByUserId(Long userId);
 
+    String SELECT_DTO = """
+        SELECT new com.udea.fe.DTO.ProjectDTO(p.projectId, p.name, p.description, p.startDate, p.endDate,
+                                              p.status, cb.userId, p.version)
+        FROM Project p LEFT JOIN p.createdBy cb
+        """;
+
+    // Proyectos creados por el usuario o de alguno de sus equipos, sin duplicados y en una sola consulta,
+    // indicando en cuáles participa por equipo
+    @Query("""
+        SELECT new com.udea.fe.DTO.ProjectMembershipDTO(p.projectId,
+            CASE WHEN EXISTS (SELECT 1 FROM UserTeam ut WHERE ut.user.userId = :userId AND ut.team.project = p)
+                 THEN true ELSE false END)
+        FROM Project p LEFT JOIN p.createdBy cb
+        WHERE cb.userId = :userId
+           OR EXISTS (SELECT 1 FROM UserTeam ut WHERE ut.user.userId = :userId AND ut.team.project = p)
+        ORDER BY p.projectId
+        """)
+    List<ProjectMembershipDTO> findMembershipsOfUser(Long userId);
+
+    @Query("SELECT p.status FROM Project p WHERE p.projectId = :projectId")
+    Optional<ProjectStatus> findStatusById(Long projectId);
+
+    @Query(SELECT_DTO + "WHERE p.projectId IN :ids ORDER BY p.projectId")
+    List<ProjectDTO> findDTOsByIds(Collection<Long> ids);
+
+    // Tablero del proyecto en una sola consulta: agregados por grupo devueltos como un documento JSON
+    // con la forma de ProjectDashboardDTO. Vacío si el proyecto no existe.
+    @Query(value = """
+        WITH project_tasks AS (
+            SELECT task_id, name, status, priority, due_date FROM tasks WHERE project_id = :projectId
+        ),
+        project_teams AS (
+            SELECT team_id FROM teams WHERE project_id = :projectId
+        ),
+        submission_counts AS (
+            SELECT s.task_id, COUNT(*) AS total
+            FROM submissions s JOIN project_tasks t ON t.task_id = s.task_id
+            GROUP BY s.task_id
+        ),
+        rating_averages AS (
+            SELECT s.task_id, ROUND(AVG(f.rating)::numeric, 2) AS average
+            FROM feedbacks f
+            JOIN submissions s ON s.submission_id = f.submission_id
+            JOIN project_tasks t ON t.task_id = s.task_id
+            WHERE f.rating IS NOT NULL
+            GROUP BY s.task_id
+        )
+        SELECT json_build_object(
+            'projectId', p.project_id,
+            'teamCount', (SELECT COUNT(*) FROM project_teams),
+            'memberCount', (SELECT COUNT(DISTINCT ut.user_id)
+                            FROM user_teams ut JOIN project_teams pt ON pt.team_id = ut.team_id),
+            'tasksByStatus', (SELECT COALESCE(json_object_agg(status, total), '{}')
+                              FROM (SELECT status, COUNT(*) AS total FROM project_tasks
+                                    WHERE status IS NOT NULL GROUP BY status) g),
+            'tasksByPriority', (SELECT COALESCE(json_object_agg(priority, total), '{}')
+                                FROM (SELECT priority, COUNT(*) AS total FROM project_tasks
+                                      WHERE priority IS NOT NULL GROUP BY priority) g),
+            'overdueTasks', (SELECT COUNT(*) FROM project_tasks
+                             WHERE due_date < LOCALTIMESTAMP AND status NOT IN ('COMPLETED', 'REVIEWED')),
+            'tasks', (SELECT COALESCE(json_agg(json_build_object(
+                                 'taskId', t.task_id,
+                                 'name', t.name,
+                                 'submissionCount', COALESCE(sc.total, 0),
+                                 'averageRating', ra.average) ORDER BY t.task_id), '[]')
+                      FROM project_tasks t
+                      LEFT JOIN submission_counts sc ON sc.task_id = t.task_id
+                      LEFT JOIN rating_averages ra ON ra.task_id = t.task_id)
+        )::text
+        FROM projects p
+        WHERE p.project_id = :projectId
+        """, nativeQuery = true)
+    Optional<String> findDashboardJson(Long projectId);
+
+    @Query(SELECT_DTO + "WHERE (:after IS NULL OR p.projectId > :after) ORDER BY p.projectId")
+    List<ProjectDTO> findPageAfter(Long after, Pageable pageable);
+
+    @Query(SELECT_DTO + "ORDER BY p.projectId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ProjectDTO> streamAll();
+
+    @Query("SELECT p.version FROM Project p WHERE p.projectId = :projectId")
+    Optional<Long> findVersionById(Long projectId);
+
+    // Número, suma de versiones y de ids de los proyectos desde el cursor: cambia con cualquier alta, baja o edición
+    @Query("""
+        SELECT CONCAT(COUNT(p), '-', COALESCE(SUM(p.version), 0), '-', COALESCE(SUM(p.projectId), 0))
+        FROM Project p WHERE (:after IS NULL OR p.projectId > :after)
+        """)
+    String pageAfterTag(Long after);
 }
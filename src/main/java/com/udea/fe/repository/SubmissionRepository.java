@@ -1,10 +1,39 @@
 package com.udea.fe.repository;
 
+import com.udea.fe.DTO.SubmissionResponseDTO;
 import com.udea.fe.entity.Submission;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
+
+  String SELECT_DTO = """
+      SELECT new com.udea.fe.DTO.SubmissionResponseDTO(s.submissionId, s.content, s.fileUrl, s.submittedAt,
+                                                       t.taskId, u.userId, u.name)
+      FROM Submission s LEFT JOIN s.task t LEFT JOIN s.user u
+      """;
+
   List<Submission> findByTask_TaskId(Long taskId);
   List<Submission> findByTask_TaskIdAndUser_UserId(Long taskId, Long userId);
+
+  @Query(SELECT_DTO + "WHERE (:after IS NULL OR s.submissionId > :after) ORDER BY s.submissionId")
+  List<SubmissionResponseDTO> findPageAfter(Long after, Pageable pageable);
+
+  @Query(SELECT_DTO + "ORDER BY s.submissionId")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<SubmissionResponseDTO> streamAll();
+
+  @Query(SELECT_DTO + "WHERE s.submissionId IN :ids ORDER BY s.submissionId")
+  List<SubmissionResponseDTO> findDTOsByIds(Collection<Long> ids);
+
+  @Query("SELECT s.version FROM Submission s WHERE s.submissionId = :submissionId")
+  Optional<Long> findVersionById(Long submissionId);
 }
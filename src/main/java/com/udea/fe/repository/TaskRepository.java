@@ -1,10 +1,85 @@
 package com.udea.fe.repository;
 
+import com.udea.fe.DTO.TaskDTO;
 import com.udea.fe.entity.Task;
+import com.udea.fe.entity.TaskPriority;
+import com.udea.fe.entity.TaskStatus;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
+
+  String SELECT_DTO = """
+      SELECT new com.udea.fe.DTO.TaskDTO(t.taskId, t.name, t.description, t.dueDate, t.status, t.priority,
+                                         p.projectId, cb.userId, t.version)
+      FROM Task t LEFT JOIN t.project p LEFT JOIN t.createdBy cb
+      """;
+
   boolean existsByNameAndProject_ProjectId(String name, Long projectId);
   List<Task> findByProject_ProjectId(Long projectId);
+
+  @Query(SELECT_DTO + "WHERE (:after IS NULL OR t.taskId > :after) ORDER BY t.taskId")
+  List<TaskDTO> findPageAfter(Long after, Pageable pageable);
+
+  @Query("SELECT t.status FROM Task t WHERE t.taskId = :taskId")
+  Optional<TaskStatus> findStatusById(Long taskId);
+
+  @Query("SELECT t.taskId FROM Task t WHERE t.taskId IN :taskIds")
+  List<Long> findExistingIds(Collection<Long> taskIds);
+
+  @Query(SELECT_DTO + "WHERE t.taskId IN :taskIds")
+  List<TaskDTO> findDTOsByIds(Collection<Long> taskIds);
+
+  @Query(SELECT_DTO + "ORDER BY t.taskId")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<TaskDTO> streamAll();
+
+  // Tareas visibles del proyecto: todas si seeAll, o las asignadas al usuario directamente o a uno de sus equipos.
+  // Las fechas van con CAST: PostgreSQL no puede deducir el tipo de un timestamp nulo en "? IS NULL"
+  @Query(SELECT_DTO + """
+      WHERE p.projectId = :projectId
+        AND (:seeAll = true OR EXISTS (
+              SELECT 1 FROM TaskAssignment a
+              WHERE a.id.taskId = t.taskId
+                AND ((UPPER(a.id.assignedType) = 'USER' AND a.id.assignedId = :userId)
+                  OR (UPPER(a.id.assignedType) = 'TEAM' AND a.id.assignedId IN (
+                        SELECT ut.id.teamId FROM UserTeam ut WHERE ut.id.userId = :userId)))))
+        AND (:status IS NULL OR t.status = :status)
+        AND (:priority IS NULL OR t.priority = :priority)
+        AND (CAST(:dueAfter AS LocalDateTime) IS NULL OR t.dueDate >= :dueAfter)
+        AND (CAST(:dueBefore AS LocalDateTime) IS NULL OR t.dueDate < :dueBefore)
+        AND (:after IS NULL OR t.taskId > :after)
+      ORDER BY t.taskId
+      """)
+  List<TaskDTO> findVisibleInProject(Long projectId, Long userId, boolean seeAll,
+                                     TaskStatus status, TaskPriority priority,
+                                     LocalDateTime dueAfter, LocalDateTime dueBefore,
+                                     Long after, Pageable pageable);
+
+  @Query("SELECT t.version FROM Task t WHERE t.taskId = :taskId")
+  Optional<Long> findVersionById(Long taskId);
+
+  // Huella de lo que determina la lista de tareas visibles de un proyecto para un usuario: las tareas
+  // (número, suma de versiones y de ids), sus asignaciones y los equipos del usuario. Si no cambia,
+  // la respuesta tampoco.
+  @Query(value = """
+      SELECT CONCAT_WS('.',
+          (SELECT COUNT(*) || '-' || COALESCE(SUM(version), 0) || '-' || COALESCE(SUM(task_id), 0)
+           FROM tasks WHERE project_id = :projectId),
+          (SELECT md5(COALESCE(string_agg(a.task_id || a.assigned_type || a.assigned_id, ','
+                                          ORDER BY a.task_id, a.assigned_type, a.assigned_id), ''))
+           FROM task_assignment a JOIN tasks t ON t.task_id = a.task_id WHERE t.project_id = :projectId),
+          (SELECT md5(COALESCE(string_agg(team_id::text, ',' ORDER BY team_id), ''))
+           FROM user_teams WHERE user_id = :userId))
+      """, nativeQuery = true)
+  String visibleInProjectTag(Long projectId, Long userId);
 }
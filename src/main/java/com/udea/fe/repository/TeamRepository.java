@@ -1,10 +1,13 @@
 package com.udea.fe.repository;
 
+import com.udea.fe.DTO.TeamDTO;
 import com.udea.fe.entity.Project;
 import com.udea.fe.entity.Team;
 import com.udea.fe.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,5 +15,20 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     List<Team> findByProject(Project project);
     List<Team> findByLeader(User leader);
     Optional<Team> findByNameAndProject(String name, Project project);
-}
 
+    @Query("""
+        SELECT new com.udea.fe.DTO.TeamDTO(t.teamId, t.name, t.description, p.projectId, l.userId, t.version)
+        FROM Team t LEFT JOIN t.project p LEFT JOIN t.leader l
+        WHERE t.teamId IN :teamIds
+        """)
+    List<TeamDTO> findDTOsByIds(Collection<Long> teamIds);
+
+    @Query("SELECT t.version FROM Team t WHERE t.teamId = :teamId")
+    Optional<Long> findVersionById(Long teamId);
+
+    @Query("""
+        SELECT CONCAT(COUNT(t), '-', COALESCE(SUM(t.version), 0), '-', COALESCE(SUM(t.teamId), 0))
+        FROM Team t WHERE t.project.projectId = :projectId
+        """)
+    String projectTag(Long projectId);
+}
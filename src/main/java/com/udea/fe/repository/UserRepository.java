@@ -1,10 +1,14 @@
 package com.udea.fe.repository;
 
+import com.udea.fe.DTO.UserSummaryDTO;
 import com.udea.fe.entity.Role;
 import com.udea.fe.entity.Status;
 import com.udea.fe.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +18,35 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(Role role);
     List<User> findByStatus(Status status);
     List<User> findByRoleNot(Role role);
+
+    @Query("SELECT u.userId FROM User u WHERE u.status = :status")
+    List<Long> findIdsByStatus(Status status);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    @Query("SELECT u.dni FROM User u WHERE u.dni IN :dnis")
+    List<String> findExistingDnis(Collection<String> dnis);
+
+    @Query("SELECT u.userId FROM User u WHERE u.userId IN :userIds")
+    List<Long> findExistingIds(Collection<Long> userIds);
+
+    // Asignados a la tarea directamente o a través de un equipo asignado
+    @Query("""
+        SELECT new com.udea.fe.DTO.UserSummaryDTO(u.userId, u.name, u.email, u.role)
+        FROM User u
+        WHERE u.userId IN (
+                SELECT a.id.assignedId FROM TaskAssignment a
+                WHERE a.id.taskId = :taskId AND UPPER(a.id.assignedType) = 'USER')
+           OR u.userId IN (
+                SELECT ut.id.userId FROM UserTeam ut, TaskAssignment a
+                WHERE a.id.taskId = :taskId AND UPPER(a.id.assignedType) = 'TEAM'
+                  AND ut.id.teamId = a.id.assignedId)
+        ORDER BY u.name
+        """)
+    List<UserSummaryDTO> findAssignedToTask(Long taskId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePasswordByEmail(String email, String password);
 }
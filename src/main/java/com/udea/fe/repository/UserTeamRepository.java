@@ -1,9 +1,10 @@
 package com.udea.fe.repository;
 
-import com.udea.fe.entity.Team;
+import com.udea.fe.DTO.TeamMemberDTO;
 import com.udea.fe.entity.UserTeam;
 import com.udea.fe.entity.UserTeamId;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,7 +12,13 @@ import org.springframework.data.jpa.repository.Query;
 
 public interface UserTeamRepository extends JpaRepository<UserTeam, UserTeamId> {
     List<UserTeam> findByIdUserId(Long userId);
-    List<UserTeam> findByTeam(Team team);
-    @Query("SELECT COUNT(ut) > 0 FROM UserTeam ut WHERE ut.user.userId = :userId AND ut.team.project.projectId = :projectId")
-    boolean existsByUserIdAndProjectId(Long userId, Long projectId);
+    @Query("""
+        SELECT new com.udea.fe.DTO.TeamMemberDTO(ut.id.teamId, u.userId, u.name, u.email, ut.roleInGroup)
+        FROM UserTeam ut JOIN ut.user u
+        WHERE ut.id.teamId IN :teamIds
+        ORDER BY ut.id.teamId, u.name
+        """)
+    List<TeamMemberDTO> findMembersByTeamIds(Collection<Long> teamIds);
+    @Query("SELECT ut.id.userId FROM UserTeam ut WHERE ut.id.teamId = :teamId")
+    List<Long> findUserIdsByTeamId(Long teamId);
 }
\ No newline at end of file
@@ -2,6 +2,12 @@ package com.udea.fe.repository;
 
 import com.udea.fe.entity.Workspace;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
 
 public interface WorkspaceRepository extends JpaRepository<Workspace, Long> {
+
+    @Query("SELECT w.version FROM Workspace w WHERE w.workspaceId = :workspaceId")
+    Optional<Long> findVersionById(Long workspaceId);
 }
@@ -0,0 +1,59 @@
+package com.udea.fe.security.model;
+
+import com.udea.fe.entity.Role;
+import com.udea.fe.entity.Status;
+import com.udea.fe.entity.User;
+import lombok.Getter;
+
+/**
+ * Usuario autenticado. Extiende el {@code User} de Spring Security para que el
+ * resto del código siga viendo un {@code UserDetails} estándar, pero conserva
+ * los datos del usuario (id, nombre, rol...) para no volver a consultarlos.
+ */
+@Getter
+public class UserPrincipal extends org.springframework.security.core.userdetails.User {
+
+    private final Long userId;
+    private final String name;
+    private final String dni;
+    private final Role role;
+    private final Status status;
+
+    public UserPrincipal(Long userId, String name, String email, String dni,
+                         String password, Role role, Status status) {
+        super(
+                email,
+                password != null ? password : "",
+                status == Status.ACTIVE,
+                true,   // accountNonExpired
+                true,   // credentialsNonExpired
+                true,   // accountNonLocked
+                role.getAuthorities()
+        );
+        this.userId = userId;
+        this.name = name;
+        this.dni = dni;
+        this.role = role;
+        this.status = status;
+    }
+
+    /**
+     * Copia independiente. Spring Security borra la contraseña del principal tras autenticar,
+     * así que las instancias compartidas (por ejemplo, en caché) nunca se entregan directamente.
+     */
+    public UserPrincipal copy() {
+        return new UserPrincipal(userId, name, getUsername(), dni, getPassword(), role, status);
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(
+                user.getUserId(),
+                user.getName(),
+                user.getEmail(),
+                user.getDni(),
+                user.getPassword(),
+                user.getRole(),
+                user.getStatus()
+        );
+    }
+}
@@ -3,42 +3,77 @@ package com.udea.fe.security.service;
 import com.udea.fe.DTO.AuthResponse;
 import com.udea.fe.DTO.LoginRequest;
 import com.udea.fe.config.JwtService;
-import com.udea.fe.entity.User;
-import com.udea.fe.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.udea.fe.security.model.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.security.authentication.*;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
-@RequiredArgsConstructor
 public class AuthService {
 
-  private final UserRepository userRepository;
   private final JwtService jwtService;
   private final AuthenticationManager authenticationManager;
+  private final RefreshTokenService refreshTokenService;
+  private final TaskExecutor loginExecutor;
+  // Latencia de autenticación (dominada por BCrypt): referencia para ajustar security.password.bcrypt-strength
+  private final Timer loginTimer;
+
+  public AuthService(
+    JwtService jwtService,
+    AuthenticationManager authenticationManager,
+    RefreshTokenService refreshTokenService,
+    @Qualifier("loginExecutor") TaskExecutor loginExecutor,
+    MeterRegistry meterRegistry
+  ) {
+    this.jwtService = jwtService;
+    this.authenticationManager = authenticationManager;
+    this.refreshTokenService = refreshTokenService;
+    this.loginExecutor = loginExecutor;
+    this.loginTimer = Timer.builder("auth.login")
+      .description("Tiempo de autenticación de usuario y contraseña")
+      .publishPercentiles(0.5, 0.95, 0.99)
+      .register(meterRegistry);
+  }
+
+  /**
+   * Ejecuta el login en el pool dedicado. Si el pool está saturado lanza
+   * {@link org.springframework.core.task.TaskRejectedException} sin llegar a encolar la petición.
+   */
+  public CompletableFuture<AuthResponse> loginAsync(LoginRequest request) {
+    return CompletableFuture.supplyAsync(() -> login(request), loginExecutor);
+  }
 
   public AuthResponse login(LoginRequest request) {
-    authenticationManager.authenticate(
-      new UsernamePasswordAuthenticationToken(
-        request.getEmail(),
-        request.getPassword()
+    Authentication authentication = loginTimer.record(() ->
+      authenticationManager.authenticate(
+        new UsernamePasswordAuthenticationToken(
+          request.getEmail(),
+          request.getPassword()
+        )
       )
     );
 
-    User user = userRepository
-      .findByEmail(request.getEmail())
-      .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+    // El proveedor ya cargó el usuario: no hace falta una segunda consulta
+    UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
 
     String token = jwtService.generateToken(user);
+    String refreshToken = refreshTokenService.issue(user.getUserId());
 
     return new AuthResponse(
       token,
       user.getUserId(),
       user.getName(),
-      user.getEmail(),
+      user.getUsername(),
       user.getDni(),
       user.getRole().name(),
-      user.getStatus().name()
+      user.getStatus().name(),
+      refreshToken
     );
   }
 }
@@ -0,0 +1,48 @@
+package com.udea.fe.security.service;
+
+import com.udea.fe.security.model.UserPrincipal;
+import com.udea.fe.service.ProjectMembershipCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+/**
+ * Decisiones de autorización por pertenencia a proyecto (a través de los equipos del usuario),
+ * resueltas en memoria con {@link ProjectMembershipCache}.
+ *
+ * <p>Uso en controladores: {@code @PreAuthorize("@projectAccess.isMember(authentication, #projectId)")}.
+ * {@code canView} además admite al creador del proyecto aunque no esté en ninguno de sus equipos.
+ */
+@Service("projectAccess")
+@RequiredArgsConstructor
+public class ProjectAccessService {
+
+    private final ProjectMembershipCache projectMembershipCache;
+
+    public boolean isMember(Long userId, Long projectId) {
+        if (userId == null || projectId == null) {
+            return false;
+        }
+        return projectMembershipCache.get(userId).teamProjectIds().contains(projectId);
+    }
+
+    public boolean isMember(Authentication authentication, Long projectId) {
+        return isMember(userIdOf(authentication), projectId);
+    }
+
+    public boolean canView(Long userId, Long projectId) {
+        if (userId == null || projectId == null) {
+            return false;
+        }
+        return projectMembershipCache.get(userId).projectIds().contains(projectId);
+    }
+
+    public boolean canView(Authentication authentication, Long projectId) {
+        return canView(userIdOf(authentication), projectId);
+    }
+
+    private static Long userIdOf(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getUserId() : null;
+    }
+}
@@ -0,0 +1,153 @@
+package com.udea.fe.security.service;
+
+import com.udea.fe.DTO.AuthResponse;
+import com.udea.fe.config.JwtService;
+import com.udea.fe.entity.RefreshToken;
+import com.udea.fe.entity.Status;
+import com.udea.fe.exception.InvalidRefreshTokenException;
+import com.udea.fe.repository.RefreshTokenRepository;
+import com.udea.fe.repository.UserRepository;
+import com.udea.fe.security.model.UserPrincipal;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Refresh tokens opacos con rotación: cada uso entrega un token nuevo y revoca el anterior.
+ * Presentar un token ya rotado se trata como robo y revoca toda la familia.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final String MSG_TOKEN_INVALIDO = "Refresh token inválido o expirado";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtService jwtService;
+    private final long refreshExpiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            UserRepository userRepository,
+            JwtService jwtService,
+            @Value("${security.jwt.refresh-expiration}") long refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtService = jwtService;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    /** Abre una familia nueva (un login) y devuelve el token en claro. */
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    // La revocación por reutilización debe persistir aunque se lance la excepción
+    @Transactional(dontRollbackOn = InvalidRefreshTokenException.class)
+    public AuthResponse refresh(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new InvalidRefreshTokenException(MSG_TOKEN_INVALIDO);
+        }
+
+        RefreshToken current = refreshTokenRepository
+                .findByTokenHashForUpdate(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException(MSG_TOKEN_INVALIDO));
+
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.getRevokedAt() != null) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            logger.warn("Reutilización de refresh token detectada para usuario {}: {} tokens revocados",
+                    current.getUser().getUserId(), revoked);
+            throw new InvalidRefreshTokenException(MSG_TOKEN_INVALIDO);
+        }
+
+        if (current.getExpiresAt().isBefore(now) || current.getUser().getStatus() != Status.ACTIVE) {
+            current.setRevokedAt(now);
+            throw new InvalidRefreshTokenException(MSG_TOKEN_INVALIDO);
+        }
+
+        current.setRevokedAt(now);
+        String nextToken = issue(current.getUser().getUserId(), current.getFamilyId());
+
+        UserPrincipal user = UserPrincipal.from(current.getUser());
+        return new AuthResponse(
+                jwtService.generateToken(user),
+                user.getUserId(),
+                user.getName(),
+                user.getUsername(),
+                user.getDni(),
+                user.getRole().name(),
+                user.getStatus().name(),
+                nextToken
+        );
+    }
+
+    /** Cierra la sesión asociada al token (toda su familia). Tokens desconocidos se ignoran. */
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository
+                .findByTokenHashForUpdate(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    public void revokeAllFor(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+    }
+
+    public void deleteAllFor(Long userId) {
+        refreshTokenRepository.deleteAllByUserId(userId);
+    }
+
+    // Los revocados se conservan hasta expirar para poder detectar su reutilización
+    @Scheduled(cron = "${security.jwt.refresh-purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        logger.info("Refresh tokens expirados eliminados: {}", deleted);
+    }
+
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setUser(userRepository.getReferenceById(userId));
+        token.setCreatedAt(now);
+        token.setExpiresAt(now.plus(Duration.ofMillis(refreshExpiration)));
+        refreshTokenRepository.save(token);
+
+        return rawToken;
+    }
+
+    // El token tiene 256 bits de entropía: un SHA-256 basta, no hace falta BCrypt
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.udea.fe.security.service;
+
+import com.udea.fe.config.VerifiedToken;
+import com.udea.fe.entity.Status;
+import com.udea.fe.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocación en memoria de tokens por usuario, usada por el modo de autenticación sin estado.
+ * Para cada usuario se guarda un instante de corte: los tokens emitidos antes de él o en el mismo
+ * segundo dejan de ser válidos.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final UserRepository userRepository;
+
+    // userId -> epoch second; los tokens con iat anterior o igual están revocados
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    /**
+     * Al arrancar no se conoce cuándo se desactivó cada usuario, así que los inactivos
+     * quedan revocados por completo hasta que se reactiven.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInactiveUsers() {
+        List<Long> inactiveIds = userRepository.findIdsByStatus(Status.INACTIVE);
+        inactiveIds.forEach(id -> revokedBefore.put(id, Long.MAX_VALUE));
+        logger.info("Revocación de tokens inicializada con {} usuarios inactivos", inactiveIds.size());
+    }
+
+    public void revokeTokensOf(Long userId) {
+        revokedBefore.put(userId, Instant.now().getEpochSecond());
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        if (token.userId() == null) {
+            return true;
+        }
+        Long cutoff = revokedBefore.get(token.userId());
+        if (cutoff == null) {
+            return false;
+        }
+        // iat tiene resolución de segundos: un token del mismo segundo puede ser anterior a la revocación
+        return token.issuedAt() == null || token.issuedAt().getEpochSecond() <= cutoff;
+    }
+}
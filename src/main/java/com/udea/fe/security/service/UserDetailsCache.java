@@ -0,0 +1,51 @@
+package com.udea.fe.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.udea.fe.security.model.UserPrincipal;
+import com.udea.fe.service.TransactionalEviction;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Caché acotada (tamaño y tiempo) de usuarios por email para el filtro JWT y /api/auth/me.
+ * Las métricas quedan disponibles en /actuator/metrics/cache.gets, cache.evictions, etc. (cache=userDetails).
+ */
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, UserPrincipal> cache;
+
+    public UserDetailsCache(
+            MeterRegistry meterRegistry,
+            @Value("${security.user-cache.max-size:10000}") long maxSize,
+            @Value("${security.user-cache.ttl:PT5M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    /** Devuelve la entrada compartida; quien la exponga fuera debe usar {@link UserPrincipal#copy()}. */
+    public UserPrincipal get(String email, Function<String, UserPrincipal> loader) {
+        return cache.get(email, loader);
+    }
+
+    /** Invalida estos usuarios ahora y al confirmar; ver {@link TransactionalEviction#evictNowAndAfterCommit(Runnable)}. */
+    public void invalidate(String... emails) {
+        TransactionalEviction.evictNowAndAfterCommit(() -> evict(emails));
+    }
+
+    private void evict(String... emails) {
+        Stream.of(emails).filter(Objects::nonNull).forEach(cache::invalidate);
+    }
+}
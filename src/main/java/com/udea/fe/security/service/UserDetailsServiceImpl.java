@@ -1,31 +1,54 @@
 package com.udea.fe.security.service;
 
-import com.udea.fe.entity.User;
 import com.udea.fe.repository.UserRepository;
+import com.udea.fe.security.model.UserPrincipal;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository
-                .findByEmail(email)
+        return findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con email: " + email));
+    }
+
+    public Optional<UserPrincipal> findByEmail(String email) {
+        UserPrincipal cached = userDetailsCache.get(
+                email,
+                key -> userRepository.findByEmail(key).map(UserPrincipal::from).orElse(null)
+        );
+        return Optional.ofNullable(cached).map(UserPrincipal::copy);
+    }
+
+    /**
+     * Spring Security lo invoca tras un login exitoso cuando el hash guardado usa un costo BCrypt
+     * menor al configurado (security.password.bcrypt-strength).
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        userDetailsCache.invalidate(user.getUsername());
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                user.getStatus().equals(com.udea.fe.entity.Status.ACTIVE),
-                true,   // accountNonExpired
-                true,   // credentialsNonExpired
-                true,   // accountNonLocked
-                user.getRole().getAuthorities()
+        UserPrincipal principal = (UserPrincipal) user;
+        return new UserPrincipal(
+                principal.getUserId(),
+                principal.getName(),
+                principal.getUsername(),
+                principal.getDni(),
+                newPassword,
+                principal.getRole(),
+                principal.getStatus()
         );
     }
 }
@@ -0,0 +1,96 @@
+package com.udea.fe.service;
+
+import com.udea.fe.DTO.StoredFileDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Almacén local de archivos direccionado por contenido: cada archivo vive en
+ * {@code <raíz>/ab/cd/<sha256>}, así dos subidas idénticas ocupan un solo archivo. Se escribe en un
+ * temporal dentro de la misma raíz y se publica con un rename atómico: un lector nunca ve un archivo a medias.
+ */
+@Service
+public class BlobStoreService {
+
+    public static final String URL_PREFIX = "/api/files/";
+
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path tmp;
+
+    public BlobStoreService(@Value("${storage.blobs.root:data/blobs}") Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.tmp = this.root.resolve("tmp");
+        Files.createDirectories(tmp);
+    }
+
+    /** Copia la parte (ya en disco, umbral multipart en 0) calculando el hash en la misma pasada. */
+    public StoredFileDTO store(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("El archivo está vacío");
+        }
+
+        Path temp = tmp.resolve(UUID.randomUUID() + ".part");
+        try {
+            MessageDigest digest = sha256Digest();
+            try (InputStream in = file.getInputStream();
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                OutputStream out = new DigestOutputStream(Channels.newOutputStream(channel), digest);
+                in.transferTo(out);
+                // En disco antes del rename: tras una caída no queda un nombre apuntando a datos incompletos
+                channel.force(true);
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(sha256);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                // Si otra subida del mismo contenido gana la carrera, el rename reemplaza bytes idénticos
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new StoredFileDTO(sha256, Files.size(target), URL_PREFIX + sha256);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** Ruta del archivo con ese hash, si existe. Cualquier otro formato de id se descarta (sin recorrer rutas). */
+    public Optional<Path> find(String sha256) {
+        if (sha256 == null || !SHA256.matcher(sha256).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(sha256);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private Path pathOf(String sha256) {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
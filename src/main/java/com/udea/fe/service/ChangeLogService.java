@@ -0,0 +1,71 @@
+package com.udea.fe.service;
+
+import com.udea.fe.entity.ChangeLogEntry;
+import com.udea.fe.entity.ChangeType;
+import com.udea.fe.repository.ChangeLogRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Escribe el registro de cambios que consume {@link SyncService}. Los servicios lo llaman dentro de su
+ * transacción, así el cambio y su registro se confirman (o se descartan) juntos.
+ */
+@Service
+@Transactional
+public class ChangeLogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogService.class);
+
+    private final ChangeLogRepository changeLogRepository;
+    private final Duration retention;
+
+    public ChangeLogService(
+            ChangeLogRepository changeLogRepository,
+            @Value("${sync.retention:P30D}") Duration retention) {
+        this.changeLogRepository = changeLogRepository;
+        this.retention = retention;
+    }
+
+    public void changed(ChangeType type, Long entityId, Long projectId, Long userId) {
+        changeLogRepository.save(new ChangeLogEntry(type, entityId, false, projectId, userId));
+    }
+
+    public void deleted(ChangeType type, Long entityId, Long projectId, Long userId) {
+        changeLogRepository.save(new ChangeLogEntry(type, entityId, true, projectId, userId));
+    }
+
+    /** Para las escrituras masivas: los INSERT salen en lote gracias a la secuencia. */
+    public void record(Collection<ChangeLogEntry> entries) {
+        if (!entries.isEmpty()) {
+            changeLogRepository.saveAll(entries);
+        }
+    }
+
+    // Cambió lo que el usuario puede ver: su próxima sincronización pide recargar todo
+    @EventListener
+    public void onMembershipChanged(ProjectMembershipChangedEvent event) {
+        List<ChangeLogEntry> entries = event.userIds().stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(userId -> new ChangeLogEntry(ChangeType.MEMBERSHIP, userId, false, null, userId))
+                .toList();
+        record(entries);
+    }
+
+    @Scheduled(cron = "${sync.retention-cron:0 45 3 * * *}")
+    public void purge() {
+        int purged = changeLogRepository.purge(LocalDateTime.now().minus(retention));
+        logger.info("Registro de cambios: {} filas retiradas", purged);
+    }
+}
@@ -1,20 +1,23 @@
 package com.udea.fe.service;
 
+import com.udea.fe.DTO.CursorPage;
 import com.udea.fe.DTO.FeedbackResponseDTO;
 import com.udea.fe.entity.Feedback;
 import com.udea.fe.entity.FeedbackResponse;
 import com.udea.fe.entity.User;
 import com.udea.fe.exception.FeedbackResponseNotFoundException;
+import com.udea.fe.mapper.FeedbackResponseMapper;
 import com.udea.fe.repository.FeedbackRepository;
 import com.udea.fe.repository.FeedbackResponseRepository;
 import com.udea.fe.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -24,10 +27,10 @@ public class FeedbackResponseService {
     private final FeedbackResponseRepository feedbackResponseRepository;
     private final FeedbackRepository feedbackRepository;
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final FeedbackResponseMapper feedbackResponseMapper;
 
     public FeedbackResponseDTO createFeedbackResponse(FeedbackResponseDTO dto) {
-        FeedbackResponse response = modelMapper.map(dto, FeedbackResponse.class);
+        FeedbackResponse response = feedbackResponseMapper.toEntity(dto);
 
         Feedback feedback = feedbackRepository.findById(dto.getFeedbackId())
                 .orElseThrow(() -> new FeedbackResponseNotFoundException("Feedback no encontrado con id: " + dto.getFeedbackId()));
@@ -40,19 +43,24 @@ public class FeedbackResponseService {
         response.setResponseDate(LocalDateTime.now());
 
         FeedbackResponse saved = feedbackResponseRepository.save(response);
-        return modelMapper.map(saved, FeedbackResponseDTO.class);
+        return feedbackResponseMapper.toDTO(saved);
     }
 
     public FeedbackResponseDTO getFeedbackResponseById(Long id) {
         FeedbackResponse response = feedbackResponseRepository.findById(id)
                 .orElseThrow(() -> new FeedbackResponseNotFoundException("Respuesta no encontrada con id: " + id));
-        return modelMapper.map(response, FeedbackResponseDTO.class);
+        return feedbackResponseMapper.toDTO(response);
     }
 
-    public List<FeedbackResponseDTO> getAllFeedbackResponses() {
-        return feedbackResponseRepository.findAll().stream()
-                .map(response -> modelMapper.map(response, FeedbackResponseDTO.class))
-                .toList(); // Reemplazo de .collect(Collectors.toList())
+    public CursorPage<FeedbackResponseDTO> getAllFeedbackResponses(Long after, Integer size) {
+        List<FeedbackResponseDTO> responses = feedbackResponseRepository.findPageAfter(after, CursorPage.limit(size));
+        return CursorPage.of(responses, size, FeedbackResponseDTO::getId);
+    }
+
+    public void exportAllFeedbackResponses(Consumer<FeedbackResponseDTO> sink) {
+        try (Stream<FeedbackResponseDTO> responses = feedbackResponseRepository.streamAll()) {
+            responses.forEach(sink);
+        }
     }
 
     public FeedbackResponseDTO updateFeedbackResponse(Long id, FeedbackResponseDTO dto) {
@@ -60,7 +68,7 @@ public class FeedbackResponseService {
                 .map(response -> {
                     response.setComment(dto.getComment());
                     FeedbackResponse updated = feedbackResponseRepository.save(response);
-                    return modelMapper.map(updated, FeedbackResponseDTO.class);
+                    return feedbackResponseMapper.toDTO(updated);
                 })
                 .orElseThrow(() -> new FeedbackResponseNotFoundException("Respuesta no encontrada con id: " + id));
     }
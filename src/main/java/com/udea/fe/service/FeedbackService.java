@@ -1,21 +1,34 @@
 package com.udea.fe.service;
 
+import com.udea.fe.DTO.CursorPage;
 import com.udea.fe.DTO.FeedbackDTO;
+import com.udea.fe.DTO.FeedbackResponseDTO;
+import com.udea.fe.DTO.FeedbackThreadDTO;
 import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.entity.ChangeLogEntry;
+import com.udea.fe.entity.ChangeType;
 import com.udea.fe.entity.Feedback;
 import com.udea.fe.entity.Submission;
 import com.udea.fe.entity.User;
 import com.udea.fe.exception.FeedbackNotFoundException;
+import com.udea.fe.exception.VersionConflictException;
+import com.udea.fe.mapper.FeedbackMapper;
 import com.udea.fe.repository.FeedbackRepository;
+import com.udea.fe.repository.FeedbackResponseRepository;
 import com.udea.fe.repository.SubmissionRepository;
 import com.udea.fe.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -23,13 +36,16 @@ import java.util.List;
 public class FeedbackService {
 
   private final FeedbackRepository feedbackRepository;
+  private final FeedbackResponseRepository feedbackResponseRepository;
   private final SubmissionRepository submissionRepository;
   private final UserRepository userRepository;
-  private final ModelMapper modelMapper;
+  private final FeedbackMapper feedbackMapper;
   private final NotificationService notificationService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ChangeLogService changeLogService;
 
   public FeedbackDTO createFeedback(FeedbackDTO feedbackDTO) {
-    Feedback feedback = modelMapper.map(feedbackDTO, Feedback.class);
+    Feedback feedback = feedbackMapper.toEntity(feedbackDTO);
 
     Submission submission = submissionRepository
       .findById(feedbackDTO.getSubmissionId())
@@ -55,63 +71,117 @@ public class FeedbackService {
     feedback.setCreatedAt(LocalDateTime.now());
 
     Feedback savedFeedback = feedbackRepository.save(feedback);
+    eventPublisher.publishEvent(ProjectDataChangedEvent.of(submission.getTask()));
+    recordChange(savedFeedback, false);
 
     NotificationDTO notification = new NotificationDTO();
     notification.setUserId(submission.getUser().getUserId());
     notification.setMessage("Has recibido una nueva retroalimentación.");
     notification.setType("FEEDBACK");
 
-    notificationService.createNotification(notification);
+    notificationService.enqueueNotification(notification, "SUBMISSION:" + submission.getSubmissionId());
 
-    return modelMapper.map(savedFeedback, FeedbackDTO.class);
+    return feedbackMapper.toDTO(savedFeedback);
   }
 
-  public FeedbackDTO updateFeedback(Long id, FeedbackDTO feedbackDTO) {
+  public FeedbackDTO updateFeedback(Long id, FeedbackDTO feedbackDTO, Long expectedVersion) {
     return feedbackRepository
       .findById(id)
       .map(feedback -> {
+        VersionConflictException.check(expectedVersion, feedback.getVersion());
         feedback.setComment(feedbackDTO.getComment());
         feedback.setRating(feedbackDTO.getRating());
-        return modelMapper.map(feedbackRepository.save(feedback), FeedbackDTO.class);
+        Feedback updated = feedbackRepository.saveAndFlush(feedback);
+        eventPublisher.publishEvent(ProjectDataChangedEvent.of(feedback.getSubmission().getTask()));
+        recordChange(updated, false);
+        return feedbackMapper.toDTO(updated);
       })
       .orElseThrow(() ->
         new FeedbackNotFoundException("Retroalimentación no encontrada con id: " + id)
       );
   }
 
+  public long getVersion(Long id) {
+    return feedbackRepository
+      .findVersionById(id)
+      .orElseThrow(() ->
+        new FeedbackNotFoundException("Retroalimentación no encontrada con id: " + id)
+      );
+  }
+
   public FeedbackDTO getFeedbackById(Long id) {
     return feedbackRepository
       .findById(id)
-      .map(feedback -> modelMapper.map(feedback, FeedbackDTO.class))
+      .map(feedbackMapper::toDTO)
       .orElseThrow(() ->
         new FeedbackNotFoundException("Retroalimentación no encontrada con id: " + id)
       );
   }
 
-  public List<FeedbackDTO> getAllFeedbacks() {
-    return feedbackRepository
-      .findAll()
-      .stream()
-      .map(feedback -> modelMapper.map(feedback, FeedbackDTO.class))
-      .toList(); // toList() reemplaza collect(Collectors.toList())
+  public CursorPage<FeedbackDTO> getAllFeedbacks(Long after, Integer size) {
+    List<FeedbackDTO> feedbacks = feedbackRepository.findPageAfter(after, CursorPage.limit(size));
+    return CursorPage.of(feedbacks, size, FeedbackDTO::getFeedbackId);
   }
 
-  public void deleteFeedback(Long id) {
-    if (!feedbackRepository.existsById(id)) {
-      throw new FeedbackNotFoundException("Retroalimentación no encontrada con id: " + id);
+  public void exportAllFeedbacks(Consumer<FeedbackDTO> sink) {
+    try (Stream<FeedbackDTO> feedbacks = feedbackRepository.streamAll()) {
+      feedbacks.forEach(sink);
     }
-    feedbackRepository.deleteById(id);
+  }
+
+  public void deleteFeedback(Long id) {
+    Feedback feedback = feedbackRepository
+      .findById(id)
+      .orElseThrow(() ->
+        new FeedbackNotFoundException("Retroalimentación no encontrada con id: " + id)
+      );
+    feedbackRepository.delete(feedback);
+    eventPublisher.publishEvent(ProjectDataChangedEvent.of(feedback.getSubmission().getTask()));
+    recordChange(feedback, true);
   }
 
   public List<FeedbackDTO> getFeedbacksBySubmissionId(Long submissionId) {
-    return feedbackRepository
-      .findAll()
-      .stream()
-      .filter(feedback ->
-        feedback.getSubmission() != null &&
-        feedback.getSubmission().getSubmissionId().equals(submissionId)
-      )
-      .map(feedback -> modelMapper.map(feedback, FeedbackDTO.class))
-      .toList(); // también reemplazado aquí
+    return feedbackRepository.findDTOsBySubmissionId(submissionId);
+  }
+
+  /**
+   * Hilo completo de una entrega en dos consultas (retroalimentaciones y respuestas).
+   * Las raíces son las retroalimentaciones sin padre dentro de la misma entrega.
+   */
+  public List<FeedbackThreadDTO> getFeedbackThread(Long submissionId) {
+    List<FeedbackDTO> feedbacks = feedbackRepository.findDTOsBySubmissionId(submissionId);
+
+    Map<Long, FeedbackThreadDTO> nodes = new LinkedHashMap<>();
+    for (FeedbackDTO feedback : feedbacks) {
+      nodes.put(feedback.getFeedbackId(), new FeedbackThreadDTO(feedback));
+    }
+
+    for (FeedbackResponseDTO response : feedbackResponseRepository.findDTOsBySubmissionId(submissionId)) {
+      FeedbackThreadDTO node = nodes.get(response.getFeedbackId());
+      if (node != null) {
+        node.getResponses().add(response);
+      }
+    }
+
+    List<FeedbackThreadDTO> roots = new ArrayList<>();
+    for (FeedbackThreadDTO node : nodes.values()) {
+      FeedbackThreadDTO parent = node.getParentFeedbackId() != null ? nodes.get(node.getParentFeedbackId()) : null;
+      if (parent != null) {
+        parent.getReplies().add(node);
+      } else {
+        roots.add(node);
+      }
+    }
+    return roots;
+  }
+
+  // La ve el autor de la entrega, además de quienes ven todo el proyecto
+  private void recordChange(Feedback feedback, boolean deleted) {
+    Submission submission = feedback.getSubmission();
+    Long projectId = submission.getTask() != null && submission.getTask().getProject() != null
+      ? submission.getTask().getProject().getProjectId()
+      : null;
+    Long ownerId = submission.getUser() != null ? submission.getUser().getUserId() : null;
+    changeLogService.record(List.of(new ChangeLogEntry(ChangeType.FEEDBACK, feedback.getFeedbackId(), deleted, projectId, ownerId)));
   }
 }
@@ -0,0 +1,82 @@
+package com.udea.fe.service;
+
+import com.udea.fe.entity.NotificationOutbox;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Reduce las entradas del outbox a las notificaciones que realmente se entregan: una por
+ * (usuario, tipo, objetivo) con el total del grupo, o un único resumen por usuario.
+ */
+@Component
+public class NotificationCoalescer {
+
+    public static final String DIGEST_TYPE = "DIGEST";
+
+    // Singular y plural de cada tipo, para los mensajes agrupados y los resúmenes
+    private static final Map<String, String[]> LABELS = Map.of(
+            "FEEDBACK", new String[] {"retroalimentación", "retroalimentaciones"},
+            "ENTREGA", new String[] {"entrega", "entregas"},
+            "ASIGNMENT", new String[] {"tarea asignada", "tareas asignadas"}
+    );
+    private static final String[] DEFAULT_LABEL = {"notificación", "notificaciones"};
+
+    public record Coalesced(Long userId, String type, String message, LocalDateTime createdAt) {
+    }
+
+    private record Key(Long userId, String type, String target) {
+    }
+
+    /** Un grupo de una sola entrada conserva su mensaje original. */
+    public List<Coalesced> coalesce(List<NotificationOutbox> entries) {
+        Map<Key, List<NotificationOutbox>> groups = entries.stream().collect(Collectors.groupingBy(
+                entry -> new Key(entry.getUserId(), entry.getType(), entry.getTarget()),
+                LinkedHashMap::new, Collectors.toList()));
+
+        List<Coalesced> result = new ArrayList<>(groups.size());
+        groups.forEach((key, group) -> {
+            String message = group.size() == 1
+                    ? group.get(0).getMessage()
+                    : "Tienes " + group.size() + " " + label(key.type(), group.size()) + " nuevas.";
+            result.add(new Coalesced(key.userId(), key.type(), message, latest(group)));
+        });
+        return result;
+    }
+
+    /** Un resumen por usuario con el recuento de cada tipo, p. ej. "Resumen: 3 retroalimentaciones, 1 entrega." */
+    public List<Coalesced> digest(List<NotificationOutbox> entries) {
+        Map<Long, List<NotificationOutbox>> byUser = entries.stream().collect(Collectors.groupingBy(
+                NotificationOutbox::getUserId, LinkedHashMap::new, Collectors.toList()));
+
+        List<Coalesced> result = new ArrayList<>(byUser.size());
+        byUser.forEach((userId, group) -> {
+            Map<String, Long> countsByType = group.stream().collect(Collectors.groupingBy(
+                    entry -> Objects.toString(entry.getType(), ""), LinkedHashMap::new, Collectors.counting()));
+            String summary = countsByType.entrySet().stream()
+                    .map(count -> count.getValue() + " " + label(count.getKey(), count.getValue()))
+                    .collect(Collectors.joining(", ", "Resumen: ", "."));
+            result.add(new Coalesced(userId, DIGEST_TYPE, summary, latest(group)));
+        });
+        return result;
+    }
+
+    private static String label(String type, long count) {
+        String[] label = LABELS.getOrDefault(type, DEFAULT_LABEL);
+        return count == 1 ? label[0] : label[1];
+    }
+
+    private static LocalDateTime latest(List<NotificationOutbox> group) {
+        return group.stream()
+                .map(NotificationOutbox::getCreatedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElseGet(LocalDateTime::now);
+    }
+}
@@ -0,0 +1,7 @@
+package com.udea.fe.service;
+
+import com.udea.fe.DTO.NotificationDTO;
+
+/** Se publica al crear una notificación; los suscriptores la reciben solo si la transacción confirma. */
+public record NotificationCreatedEvent(NotificationDTO notification) {
+}
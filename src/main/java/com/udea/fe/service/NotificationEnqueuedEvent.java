@@ -0,0 +1,5 @@
+package com.udea.fe.service;
+
+/** Se publica al escribir en el outbox; el despachador lo usa como disparador por tamaño. */
+public record NotificationEnqueuedEvent(Long userId) {
+}
@@ -0,0 +1,94 @@
+package com.udea.fe.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vacía el outbox de notificaciones en lotes (write-behind). Se dispara por tiempo
+ * ({@code notifications.outbox.poll-interval}) o en cuanto se acumula un lote completo.
+ * Cada lote es una transacción propia con INSERTs agrupados; varios nodos pueden
+ * ejecutarlo a la vez gracias a {@code FOR UPDATE SKIP LOCKED}.
+ *
+ * <p>Las entradas esperan {@code notifications.coalescing.window} antes de entregarse, de modo
+ * que las ráfagas (una sesión de calificación, una asignación a un equipo grande) lleguen como
+ * una sola notificación. Las de usuarios con resumen periódico se entregan en {@link #dispatchDigests()}.
+ */
+@Component
+public class NotificationOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+
+    private final NotificationService notificationService;
+    private final TaskExecutor executor;
+    private final int batchSize;
+    private final Duration coalescingWindow;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public NotificationOutboxDispatcher(
+            NotificationService notificationService,
+            @Qualifier("notificationOutboxExecutor") TaskExecutor executor,
+            @Value("${notifications.outbox.batch-size:200}") int batchSize,
+            @Value("${notifications.coalescing.window:PT15S}") Duration coalescingWindow) {
+        this.notificationService = notificationService;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.coalescingWindow = coalescingWindow;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEnqueued(NotificationEnqueuedEvent event) {
+        // Con ventana de agrupación nada recién encolado es entregable todavía
+        if (!coalescingWindow.isZero()) {
+            return;
+        }
+        if (pending.incrementAndGet() >= batchSize && !running.get()) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval:PT1S}")
+    public void dispatch() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            pending.set(0);
+            LocalDateTime cutoff = LocalDateTime.now().minus(coalescingWindow);
+            int processed;
+            do {
+                processed = notificationService.dispatchOutboxBatch(cutoff, batchSize);
+            } while (processed == batchSize);
+        } catch (RuntimeException e) {
+            // El lote queda en el outbox y se reintenta en la siguiente ejecución
+            logger.error("Error al despachar el outbox de notificaciones: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Scheduled(cron = "${notifications.digest.cron:0 0 * * * *}")
+    public void dispatchDigests() {
+        try {
+            int processed;
+            do {
+                processed = notificationService.dispatchDigestBatch(batchSize);
+            } while (processed == batchSize);
+        } catch (RuntimeException e) {
+            logger.error("Error al despachar los resúmenes de notificaciones: {}", e.getMessage(), e);
+        }
+    }
+}
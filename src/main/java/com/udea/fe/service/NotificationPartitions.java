@@ -0,0 +1,66 @@
+package com.udea.fe.service;
+
+import com.udea.fe.repository.NotificationRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Mantenimiento de las particiones mensuales de notifications (V2__notifications_partitioning.sql):
+ * crea por adelantado las de los próximos meses y retira en bloque las que superan la retención.
+ * También define la ventana de no leídas, que limita esas consultas a las particiones recientes.
+ */
+@Component
+public class NotificationPartitions {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPartitions.class);
+
+    private final NotificationRepository notificationRepository;
+    private final int monthsAhead;
+    private final int keepMonths;
+    private final boolean archive;
+    private final int unreadWindowMonths;
+
+    public NotificationPartitions(
+            NotificationRepository notificationRepository,
+            @Value("${notifications.retention.partitions-ahead:3}") int monthsAhead,
+            @Value("${notifications.retention.keep-months:12}") int keepMonths,
+            @Value("${notifications.retention.archive:false}") boolean archive,
+            @Value("${notifications.retention.unread-window-months:3}") int unreadWindowMonths) {
+        this.notificationRepository = notificationRepository;
+        this.monthsAhead = monthsAhead;
+        this.keepMonths = keepMonths;
+        this.archive = archive;
+        this.unreadWindowMonths = unreadWindowMonths;
+    }
+
+    /** Inicio del mes más antiguo dentro de la ventana de no leídas (meses completos, alineados con las particiones). */
+    public LocalDateTime unreadSince() {
+        return LocalDate.now().withDayOfMonth(1).minusMonths(unreadWindowMonths - 1L).atStartOfDay();
+    }
+
+    // En una base nueva la FK hacia users no puede crearse en la migración (V6__notifications_user_fk.sql)
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureUserForeignKey() {
+        if (notificationRepository.ensureUserForeignKey()) {
+            logger.info("Creada la FK de notifications hacia users");
+        }
+    }
+
+    @Transactional
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void maintain() {
+        int created = notificationRepository.ensurePartitions(monthsAhead);
+        int purged = notificationRepository.purgePartitions(keepMonths, archive);
+        logger.info("Particiones de notificaciones: {} creadas, {} retiradas", created, purged);
+    }
+}
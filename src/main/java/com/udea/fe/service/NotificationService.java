@@ -1,31 +1,60 @@
 package com.udea.fe.service;
 
+import com.udea.fe.DTO.CursorPage;
 import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.entity.ChangeLogEntry;
+import com.udea.fe.entity.ChangeType;
 import com.udea.fe.entity.Notification;
+import com.udea.fe.entity.NotificationOutbox;
+import com.udea.fe.entity.NotificationPreference;
 import com.udea.fe.entity.User;
 import com.udea.fe.exception.NotificationNotFoundException;
 import com.udea.fe.exception.UserNotFoundException;
+import com.udea.fe.mapper.NotificationMapper;
+import com.udea.fe.repository.NotificationOutboxRepository;
+import com.udea.fe.repository.NotificationPreferenceRepository;
 import com.udea.fe.repository.NotificationRepository;
 import com.udea.fe.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 @AllArgsConstructor
 public class NotificationService {
 
+  private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+  // Las entradas entregadas se borran por id en trozos para no superar el límite de parámetros de PostgreSQL
+  private static final int DELETE_CHUNK_SIZE = 1000;
+
   private final NotificationRepository notificationRepository;
+  private final NotificationOutboxRepository notificationOutboxRepository;
   private final UserRepository userRepository;
-  private final ModelMapper modelMapper;
+  private final NotificationMapper notificationMapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final UnreadCountCache unreadCountCache;
+  private final NotificationPartitions notificationPartitions;
+  private final NotificationCoalescer notificationCoalescer;
+  private final NotificationPreferenceRepository notificationPreferenceRepository;
+  private final ChangeLogService changeLogService;
 
   public NotificationDTO createNotification(NotificationDTO dto) {
-    Notification notification = modelMapper.map(dto, Notification.class);
+    Notification notification = notificationMapper.toEntity(dto);
 
     User user = userRepository
       .findById(dto.getUserId())
@@ -36,7 +65,107 @@ public class NotificationService {
     notification.setCreatedAt(LocalDateTime.now());
 
     Notification saved = notificationRepository.save(notification);
-    return modelMapper.map(saved, NotificationDTO.class);
+    NotificationDTO created = notificationMapper.toDTO(saved);
+    changeLogService.changed(ChangeType.NOTIFICATION, created.getId(), null, created.getUserId());
+    eventPublisher.publishEvent(new NotificationCreatedEvent(created));
+    return created;
+  }
+
+  /**
+   * Registra la notificación en el outbox dentro de la transacción del llamador.
+   * No consulta al usuario ni inserta en notifications; eso lo hace {@link #dispatchOutboxBatch(LocalDateTime, int)}.
+   * Las entradas con el mismo usuario, tipo y {@code target} dentro de la ventana de agrupación se entregan como una sola.
+   */
+  public void enqueueNotification(NotificationDTO dto, String target) {
+    NotificationOutbox entry = new NotificationOutbox();
+    entry.setUserId(dto.getUserId());
+    entry.setMessage(dto.getMessage());
+    entry.setType(dto.getType());
+    entry.setTarget(target);
+    entry.setCreatedAt(LocalDateTime.now());
+    notificationOutboxRepository.save(entry);
+    eventPublisher.publishEvent(new NotificationEnqueuedEvent(entry.getUserId()));
+  }
+
+  /** Encola la misma notificación para varios usuarios; los INSERT del outbox salen en lote. */
+  public void enqueueNotifications(Collection<Long> userIds, NotificationDTO dto, String target) {
+    LocalDateTime now = LocalDateTime.now();
+    List<NotificationOutbox> entries = userIds.stream().map(userId -> {
+      NotificationOutbox entry = new NotificationOutbox();
+      entry.setUserId(userId);
+      entry.setMessage(dto.getMessage());
+      entry.setType(dto.getType());
+      entry.setTarget(target);
+      entry.setCreatedAt(now);
+      return entry;
+    }).toList();
+    notificationOutboxRepository.saveAll(entries);
+    entries.forEach(entry -> eventPublisher.publishEvent(new NotificationEnqueuedEvent(entry.getUserId())));
+  }
+
+  /**
+   * Convierte hasta {@code batchSize} grupos completos del outbox (con entradas anteriores a {@code cutoff})
+   * en notificaciones agrupadas y los elimina, todo en una transacción. Devuelve cuántos grupos se procesaron.
+   */
+  public int dispatchOutboxBatch(LocalDateTime cutoff, int batchSize) {
+    List<Long> leaderIds = notificationOutboxRepository.lockNextGroups(cutoff, batchSize);
+    if (leaderIds.isEmpty()) {
+      return 0;
+    }
+    List<NotificationOutbox> batch = notificationOutboxRepository.lockGroups(leaderIds);
+    deliver(batch, notificationCoalescer.coalesce(batch));
+    return leaderIds.size();
+  }
+
+  /** Igual que {@link #dispatchOutboxBatch(LocalDateTime, int)} para los usuarios con resumen periódico, por usuario. */
+  public int dispatchDigestBatch(int batchSize) {
+    List<Long> userIds = notificationOutboxRepository.lockNextDigestUsers(batchSize);
+    if (userIds.isEmpty()) {
+      return 0;
+    }
+    List<NotificationOutbox> batch = notificationOutboxRepository.lockEntriesOf(userIds);
+    deliver(batch, notificationCoalescer.digest(batch));
+    return userIds.size();
+  }
+
+  public void setDigest(Long userId, boolean enabled) {
+    notificationPreferenceRepository.save(new NotificationPreference(userId, enabled));
+  }
+
+  // Los usuarios del lote se cargan en una sola consulta
+  private void deliver(List<NotificationOutbox> batch, List<NotificationCoalescer.Coalesced> pending) {
+
+    Set<Long> userIds = pending.stream().map(NotificationCoalescer.Coalesced::userId).collect(Collectors.toSet());
+    Map<Long, User> users = userRepository.findAllById(userIds).stream()
+      .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+    List<Notification> notifications = new ArrayList<>(pending.size());
+    for (NotificationCoalescer.Coalesced item : pending) {
+      User user = users.get(item.userId());
+      if (user == null) {
+        logger.warn("Notificación descartada del outbox: usuario {} no existe", item.userId());
+        continue;
+      }
+      Notification notification = new Notification();
+      notification.setUser(user);
+      notification.setMessage(item.message());
+      notification.setType(item.type());
+      notification.setRead(false);
+      notification.setCreatedAt(item.createdAt());
+      notifications.add(notification);
+    }
+
+    List<ChangeLogEntry> changes = new ArrayList<>(notifications.size());
+    for (Notification saved : notificationRepository.saveAll(notifications)) {
+      NotificationDTO created = notificationMapper.toDTO(saved);
+      changes.add(new ChangeLogEntry(ChangeType.NOTIFICATION, created.getId(), false, null, created.getUserId()));
+      eventPublisher.publishEvent(new NotificationCreatedEvent(created));
+    }
+    changeLogService.record(changes);
+    List<Long> outboxIds = batch.stream().map(NotificationOutbox::getOutboxId).toList();
+    for (int from = 0; from < outboxIds.size(); from += DELETE_CHUNK_SIZE) {
+      notificationOutboxRepository.deleteByIds(outboxIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, outboxIds.size())));
+    }
   }
 
   public NotificationDTO getById(Long id) {
@@ -44,15 +173,18 @@ public class NotificationService {
       .findById(id)
       .orElseThrow(() -> new NotificationNotFoundException("Notificación no encontrada"));
 
-    return modelMapper.map(notification, NotificationDTO.class);
+    return notificationMapper.toDTO(notification);
   }
 
-  public List<NotificationDTO> getAll() {
-    return notificationRepository
-      .findAll()
-      .stream()
-      .map(n -> modelMapper.map(n, NotificationDTO.class))
-      .toList(); //  reemplazo por toList()
+  public CursorPage<NotificationDTO> getAll(Long after, Integer size) {
+    List<NotificationDTO> notifications = notificationRepository.findPageAfter(after, CursorPage.limit(size));
+    return CursorPage.of(notifications, size, NotificationDTO::getId);
+  }
+
+  public void exportAll(Consumer<NotificationDTO> sink) {
+    try (Stream<NotificationDTO> notifications = notificationRepository.streamAll()) {
+      notifications.forEach(sink);
+    }
   }
 
   public List<NotificationDTO> getByUser(String userEmail) {
@@ -60,13 +192,14 @@ public class NotificationService {
       .findByEmail(userEmail)
       .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
 
-    List<Notification> notifications = notificationRepository.findByUserUserIdAndIsReadFalse(
-      user.getUserId()
+    List<Notification> notifications = notificationRepository.findUnread(
+      user.getUserId(),
+      notificationPartitions.unreadSince()
     );
 
     return notifications
       .stream()
-      .map(n -> modelMapper.map(n, NotificationDTO.class))
+      .map(notificationMapper::toDTO)
       .toList(); // reemplazo por toList()
   }
 
@@ -76,20 +209,67 @@ public class NotificationService {
       .orElseThrow(() -> new NotificationNotFoundException("Notificación no encontrada"));
 
     if (!notification.isRead()) {
+      discountUnread(notification);
       notification.setReadAt(LocalDateTime.now());
       notification.setRead(true);
+      changeLogService.changed(ChangeType.NOTIFICATION, id, null, ownerId(notification));
     }
 
-    return modelMapper.map(
-      notificationRepository.save(notification),
-      NotificationDTO.class
+    return notificationMapper.toDTO(notificationRepository.save(notification));
+  }
+
+  public long countUnread(Long userId) {
+    return unreadCountCache.get(userId);
+  }
+
+  /** Marca como leídas todas las pendientes del usuario con un único UPDATE. Devuelve cuántas cambiaron. */
+  public int markAllAsRead(Long userId) {
+    List<Long> updated = notificationRepository.markAllRead(userId, notificationPartitions.unreadSince(), LocalDateTime.now());
+    return readChanged(userId, updated);
+  }
+
+  /** Igual que {@link #markAllAsRead(Long)} pero limitado a los ids indicados; ignora los de otros usuarios. */
+  public int markAsRead(Long userId, Collection<Long> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return 0;
+    }
+    List<Long> updated = notificationRepository.markReadByIds(
+      userId,
+      ids,
+      notificationPartitions.unreadSince(),
+      LocalDateTime.now()
     );
+    return readChanged(userId, updated);
+  }
+
+  private int readChanged(Long userId, List<Long> ids) {
+    unreadCountCache.adjustAfterCommit(userId, -ids.size());
+    changeLogService.record(ids.stream()
+      .map(id -> new ChangeLogEntry(ChangeType.NOTIFICATION, id, false, null, userId))
+      .toList());
+    return ids.size();
   }
 
   public void delete(Long id) {
-    if (!notificationRepository.existsById(id)) {
-      throw new NotificationNotFoundException("Notificación no encontrada");
+    Notification notification = notificationRepository
+      .findById(id)
+      .orElseThrow(() -> new NotificationNotFoundException("Notificación no encontrada"));
+
+    notificationRepository.delete(notification);
+    discountUnread(notification);
+    changeLogService.deleted(ChangeType.NOTIFICATION, id, null, ownerId(notification));
+  }
+
+  // Solo cuentan las no leídas dentro de la ventana que usa el contador
+  private void discountUnread(Notification notification) {
+    if (!notification.isRead()
+      && notification.getUser() != null
+      && !notification.getCreatedAt().isBefore(notificationPartitions.unreadSince())) {
+      unreadCountCache.adjustAfterCommit(notification.getUser().getUserId(), -1);
     }
-    notificationRepository.deleteById(id);
+  }
+
+  private static Long ownerId(Notification notification) {
+    return notification.getUser() != null ? notification.getUser().getUserId() : null;
   }
 }
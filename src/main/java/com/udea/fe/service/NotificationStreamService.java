@@ -0,0 +1,213 @@
+package com.udea.fe.service;
+
+import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.repository.NotificationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Envío de notificaciones en tiempo real por SSE, con una o varias conexiones por usuario.
+ *
+ * <p>Cada conexión tiene un buffer acotado; si el cliente no consume a tiempo y el buffer
+ * se llena, la conexión se cierra y el cliente se reconecta con {@code Last-Event-ID}
+ * para recuperar desde la base de datos lo que no recibió.
+ */
+@Service
+public class NotificationStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    private static final String EVENT_NAME = "notification";
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+
+    private final NotificationRepository notificationRepository;
+    private final TaskExecutor pushExecutor;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    public NotificationStreamService(
+            NotificationRepository notificationRepository,
+            @Qualifier("notificationPushExecutor") TaskExecutor pushExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.sse.buffer-size:100}") int bufferSize,
+            @Value("${notifications.sse.timeout:PT30M}") Duration timeout) {
+        this.notificationRepository = notificationRepository;
+        this.pushExecutor = pushExecutor;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+
+        Gauge.builder("notifications.sse.connections", connections,
+                        map -> map.values().stream().mapToInt(Set::size).sum())
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(userId, emitter);
+
+        // Se registra antes de consultar lo pendiente para no perder lo que se confirme mientras tanto
+        connections.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(error -> connection.close());
+
+        List<NotificationDTO> missed = lastEventId == null
+                ? List.of()
+                : notificationRepository.findForUserAfter(userId, lastEventId, PageRequest.of(0, bufferSize));
+        connection.start(missed);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        NotificationDTO notification = event.notification();
+        Set<Connection> userConnections = connections.get(notification.getUserId());
+        if (userConnections == null) {
+            return;
+        }
+        for (Connection connection : userConnections) {
+            connection.offer(Outgoing.of(notification));
+        }
+    }
+
+    // Mantiene viva la conexión a través de proxies que cortan conexiones inactivas
+    @Scheduled(fixedRateString = "${notifications.sse.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        for (Set<Connection> userConnections : connections.values()) {
+            for (Connection connection : userConnections) {
+                connection.offer(Outgoing.heartbeat());
+            }
+        }
+    }
+
+    private record Outgoing(Long id, SseEventBuilder event) {
+
+        // El builder acumula lo que construye: uno nuevo por envío, nunca compartido entre conexiones
+        static Outgoing heartbeat() {
+            return new Outgoing(null, SseEmitter.event().comment("ping"));
+        }
+
+        static Outgoing of(NotificationDTO notification) {
+            return new Outgoing(notification.getId(), SseEmitter.event()
+                    .id(String.valueOf(notification.getId()))
+                    .name(EVENT_NAME)
+                    .data(notification));
+        }
+    }
+
+    private final class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Outgoing> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private boolean started;
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        /** Mezcla lo recuperado con lo que llegó en vivo durante la consulta, en orden de id y sin duplicados. */
+        synchronized void start(List<NotificationDTO> missed) {
+            if (!missed.isEmpty()) {
+                List<Outgoing> live = new ArrayList<>();
+                buffer.drainTo(live);
+
+                TreeMap<Long, Outgoing> ordered = new TreeMap<>();
+                missed.forEach(notification -> ordered.put(notification.getId(), Outgoing.of(notification)));
+                live.stream().filter(outgoing -> outgoing.id() != null)
+                        .forEach(outgoing -> ordered.putIfAbsent(outgoing.id(), outgoing));
+
+                for (Outgoing outgoing : ordered.values()) {
+                    if (!buffer.offer(outgoing)) {
+                        overflow();
+                        return;
+                    }
+                }
+            }
+            started = true;
+            scheduleDrain();
+        }
+
+        synchronized void offer(Outgoing outgoing) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(outgoing)) {
+                overflow();
+                return;
+            }
+            if (started) {
+                scheduleDrain();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                pushExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Outgoing outgoing;
+                while (!closed.get() && (outgoing = buffer.poll()) != null) {
+                    emitter.send(outgoing.event());
+                }
+            } catch (IOException | IllegalStateException e) {
+                // El cliente se desconectó
+                close();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // Un evento pudo llegar justo después del último poll
+            if (!buffer.isEmpty() && !closed.get()) {
+                scheduleDrain();
+            }
+        }
+
+        private void overflow() {
+            logger.warn("Buffer SSE lleno para el usuario {}, se cierra la conexión", userId);
+            close();
+            emitter.complete();
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                connections.computeIfPresent(userId, (id, set) -> {
+                    set.remove(this);
+                    return set.isEmpty() ? null : set;
+                });
+                buffer.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.udea.fe.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.udea.fe.DTO.ProjectDashboardDTO;
+import com.udea.fe.entity.TaskPriority;
+import com.udea.fe.entity.TaskStatus;
+import com.udea.fe.exception.ProjectNotFoundException;
+import com.udea.fe.repository.ProjectRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tablero agregado de un proyecto. Se calcula con una sola consulta de agregados
+ * ({@link ProjectRepository#findDashboardJson(Long)}) y se guarda en caché hasta que
+ * llega un {@link ProjectDataChangedEvent} del proyecto; el TTL cubre las tareas que
+ * pasan a vencidas sin que nada se escriba.
+ */
+@Service
+public class ProjectDashboardService {
+
+    private final Cache<Long, ProjectDashboardDTO> cache;
+    private final ProjectRepository projectRepository;
+    private final ObjectMapper objectMapper;
+
+    public ProjectDashboardService(
+            ProjectRepository projectRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${projects.dashboard-cache.max-size:1000}") long maxSize,
+            @Value("${projects.dashboard-cache.ttl:PT5M}") Duration ttl) {
+        this.projectRepository = projectRepository;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "projectDashboard");
+    }
+
+    public ProjectDashboardDTO getDashboard(Long projectId) {
+        return cache.get(projectId, this::load);
+    }
+
+    @EventListener
+    public void onProjectDataChanged(ProjectDataChangedEvent event) {
+        Long projectId = event.projectId();
+        if (projectId == null) {
+            return;
+        }
+        TransactionalEviction.evictNowAndAfterCommit(() -> cache.invalidate(projectId));
+    }
+
+    private ProjectDashboardDTO load(Long projectId) {
+        String json = projectRepository.findDashboardJson(projectId)
+                .orElseThrow(() -> new ProjectNotFoundException("Proyecto no encontrado con id: " + projectId));
+        try {
+            ProjectDashboardDTO dashboard = objectMapper.readValue(json, ProjectDashboardDTO.class);
+            dashboard.setTasksByStatus(withZeros(TaskStatus.values(), dashboard.getTasksByStatus()));
+            dashboard.setTasksByPriority(withZeros(TaskPriority.values(), dashboard.getTasksByPriority()));
+            return dashboard;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Tablero del proyecto " + projectId + " con formato inválido", e);
+        }
+    }
+
+    // Todos los valores del enum, en su orden, aunque no tengan tareas
+    private static <E extends Enum<E>> Map<E, Long> withZeros(E[] values, Map<E, Long> counts) {
+        Map<E, Long> complete = new LinkedHashMap<>();
+        for (E value : values) {
+            complete.put(value, counts.getOrDefault(value, 0L));
+        }
+        return complete;
+    }
+}
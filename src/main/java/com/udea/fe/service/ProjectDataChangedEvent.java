@@ -0,0 +1,16 @@
+package com.udea.fe.service;
+
+import com.udea.fe.entity.Project;
+import com.udea.fe.entity.Task;
+
+/** Se publica al cambiar equipos, miembros, tareas, entregas o retroalimentación de un proyecto. */
+public record ProjectDataChangedEvent(Long projectId) {
+
+    public static ProjectDataChangedEvent of(Project project) {
+        return new ProjectDataChangedEvent(project != null ? project.getProjectId() : null);
+    }
+
+    public static ProjectDataChangedEvent of(Task task) {
+        return of(task != null ? task.getProject() : null);
+    }
+}
@@ -0,0 +1,72 @@
+package com.udea.fe.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.udea.fe.DTO.ProjectMembershipDTO;
+import com.udea.fe.repository.ProjectRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Índice en memoria de los proyectos de cada usuario: los de sus equipos y los que creó.
+ * Lo usan tanto "mis proyectos" como las comprobaciones de {@code @projectAccess}, con una sola carga
+ * por usuario. Guarda solo la pertenencia: los datos del proyecto se leen siempre de la base,
+ * así que editar un proyecto no requiere invalidar nada. Se invalida con {@link ProjectMembershipChangedEvent}.
+ */
+@Component
+public class ProjectMembershipCache {
+
+    /** {@code projectIds} en orden de id; {@code teamProjectIds} es el subconjunto al que llega por sus equipos. */
+    public record Membership(List<Long> projectIds, Set<Long> teamProjectIds) {
+    }
+
+    private final Cache<Long, Membership> cache;
+    private final ProjectRepository projectRepository;
+
+    public ProjectMembershipCache(
+            ProjectRepository projectRepository,
+            MeterRegistry meterRegistry,
+            @Value("${projects.membership-cache.max-size:10000}") long maxSize,
+            @Value("${projects.membership-cache.ttl:PT10M}") Duration ttl) {
+        this.projectRepository = projectRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "projectMembership");
+    }
+
+    public Membership get(Long userId) {
+        return cache.get(userId, this::load);
+    }
+
+    @EventListener
+    public void onMembershipChanged(ProjectMembershipChangedEvent event) {
+        TransactionalEviction.evictNowAndAfterCommit(() -> evict(event.userIds()));
+    }
+
+    private Membership load(Long userId) {
+        List<ProjectMembershipDTO> memberships = projectRepository.findMembershipsOfUser(userId);
+        return new Membership(
+                memberships.stream().map(ProjectMembershipDTO::getProjectId).toList(),
+                memberships.stream()
+                        .filter(membership -> Boolean.TRUE.equals(membership.getTeamMember()))
+                        .map(ProjectMembershipDTO::getProjectId)
+                        .collect(Collectors.toUnmodifiableSet()));
+    }
+
+    private void evict(Collection<Long> userIds) {
+        userIds.stream().filter(Objects::nonNull).forEach(cache::invalidate);
+    }
+}
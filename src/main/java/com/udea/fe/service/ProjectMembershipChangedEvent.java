@@ -0,0 +1,7 @@
+package com.udea.fe.service;
+
+import java.util.Collection;
+
+/** Se publica cuando cambian los proyectos a los que pertenecen estos usuarios (equipos o proyectos creados). */
+public record ProjectMembershipChangedEvent(Collection<Long> userIds) {
+}
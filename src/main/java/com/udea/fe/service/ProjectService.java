@@ -1,26 +1,31 @@
 package com.udea.fe.service;
 
+import com.udea.fe.DTO.CursorPage;
 import com.udea.fe.DTO.ProjectDTO;
+import com.udea.fe.entity.ChangeType;
 import com.udea.fe.entity.Project;
 import com.udea.fe.entity.ProjectStatus;
 import com.udea.fe.entity.User;
-import com.udea.fe.entity.UserTeam;
 import com.udea.fe.exception.InvalidProjectDataException;
 import com.udea.fe.exception.ProjectNotFoundException;
 import com.udea.fe.exception.UserNotFoundException;
+import com.udea.fe.exception.VersionConflictException;
 import com.udea.fe.mapper.ProjectMapper;
 import com.udea.fe.repository.ProjectRepository;
 import com.udea.fe.repository.UserRepository;
-import com.udea.fe.repository.UserTeamRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -29,9 +34,24 @@ public class ProjectService {
 
   private final ProjectRepository projectRepository;
   private final UserRepository userRepository;
-  private final UserTeamRepository userTeamRepository;
-  private final ModelMapper modelMapper;
   private final ProjectMapper projectMapper;
+  private final ProjectMembershipCache projectMembershipCache;
+  private final ApplicationEventPublisher eventPublisher;
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final ChangeLogService changeLogService;
+
+  // Al completar se conserva la fecha de fin si ya tenía una; al cancelar se fija a hoy
+  private static final String UPDATE_STATUS = """
+    UPDATE projects
+    SET status = :status,
+        version = version + 1,
+        end_date = CASE :status WHEN 'COMPLETED' THEN COALESCE(end_date, :today)
+                                WHEN 'CANCELED' THEN :today
+                                ELSE end_date END
+    WHERE project_id = :id AND status IN (:allowed)
+      AND (CAST(:version AS bigint) IS NULL OR version = CAST(:version AS bigint))
+    RETURNING project_id, name, description, start_date, end_date, status, created_by, version
+    """;
 
   public ProjectDTO createProject(ProjectDTO projectDTO) {
     if (projectDTO.getName() == null || projectDTO.getName().trim().isEmpty()) {
@@ -54,61 +74,88 @@ public class ProjectService {
       .findById(projectDTO.getCreatedById())
       .orElseThrow(() -> new UserNotFoundException("Usuario creador no encontrado"));
 
-    Project project = modelMapper.map(projectDTO, Project.class);
+    Project project = projectMapper.toEntity(projectDTO);
     project.setCreatedBy(createdBy);
     project.setStatus(ProjectStatus.IN_PROGRESS);
 
     Project savedProject = projectRepository.save(project);
-    return modelMapper.map(savedProject, ProjectDTO.class);
+    changeLogService.changed(ChangeType.PROJECT, savedProject.getProjectId(), savedProject.getProjectId(), null);
+    eventPublisher.publishEvent(new ProjectMembershipChangedEvent(List.of(createdBy.getUserId())));
+    return projectMapper.toDTO(savedProject);
   }
 
   public ProjectDTO getProjectById(Long id) {
     return projectRepository
       .findById(id)
-      .map(project -> modelMapper.map(project, ProjectDTO.class))
+      .map(projectMapper::toDTO)
       .orElseThrow(() -> new ProjectNotFoundException("Proyecto no encontrado con id: " + id));
   }
 
-  public List<ProjectDTO> getAllProjects() {
+  public long getVersion(Long id) {
     return projectRepository
-      .findAll()
-      .stream()
-      .map(project -> modelMapper.map(project, ProjectDTO.class))
-      .toList(); // reemplazo de Collectors.toList()
+      .findVersionById(id)
+      .orElseThrow(() -> new ProjectNotFoundException("Proyecto no encontrado con id: " + id));
+  }
+
+  public String getAllProjectsTag(Long after) {
+    return projectRepository.pageAfterTag(after);
+  }
+
+  public CursorPage<ProjectDTO> getAllProjects(Long after, Integer size) {
+    List<ProjectDTO> projects = projectRepository.findPageAfter(after, CursorPage.limit(size));
+    return CursorPage.of(projects, size, ProjectDTO::getId);
   }
 
-  public ProjectDTO updateProject(Long id, ProjectDTO projectDTO) {
+  public void exportAllProjects(Consumer<ProjectDTO> sink) {
+    try (Stream<ProjectDTO> projects = projectRepository.streamAll()) {
+      projects.forEach(sink);
+    }
+  }
+
+  public ProjectDTO updateProject(Long id, ProjectDTO projectDTO, Long expectedVersion) {
     return projectRepository
       .findById(id)
       .map(existingProject -> {
-        ProjectStatus originalStatus = existingProject.getStatus();
-        modelMapper.map(projectDTO, existingProject);
-        existingProject.setStatus(originalStatus);
-        Project updatedProject = projectRepository.save(existingProject);
-        return modelMapper.map(updatedProject, ProjectDTO.class);
+        VersionConflictException.check(expectedVersion, existingProject.getVersion());
+        projectMapper.updateEntity(projectDTO, existingProject);
+        Project updatedProject = projectRepository.saveAndFlush(existingProject);
+        changeLogService.changed(ChangeType.PROJECT, id, id, null);
+        return projectMapper.toDTO(updatedProject);
       })
       .orElseThrow(() -> new ProjectNotFoundException("Proyecto no encontrado"));
   }
 
-  public ProjectDTO changeProjectStatus(Long id, ProjectStatus newStatus) {
-    Project project = projectRepository
-      .findById(id)
-      .orElseThrow(() -> new ProjectNotFoundException("Proyecto no encontrado con id: " + id));
-
-    validateStatusTransition(project.getStatus(), newStatus);
-
-    project.setStatus(newStatus);
-
-    if (newStatus == ProjectStatus.COMPLETED && project.getEndDate() == null) {
-      project.setEndDate(LocalDate.now());
-    }
-
-    if (newStatus == ProjectStatus.CANCELED) {
-      project.setEndDate(LocalDate.now());
+  // Un solo UPDATE condicionado al estado actual; la consulta adicional solo ocurre si no cambió nada
+  public ProjectDTO changeProjectStatus(Long id, ProjectStatus newStatus, Long expectedVersion) {
+    List<String> allowed = allowedFrom(newStatus);
+    List<ProjectDTO> updated = allowed.isEmpty() ? List.of() : jdbcTemplate.query(UPDATE_STATUS,
+      new MapSqlParameterSource()
+        .addValue("id", id)
+        .addValue("status", newStatus.name())
+        .addValue("allowed", allowed)
+        .addValue("today", LocalDate.now())
+        .addValue("version", expectedVersion),
+      ProjectService::mapProject);
+
+    if (updated.isEmpty()) {
+      ProjectStatus currentStatus = projectRepository
+        .findStatusById(id)
+        .orElseThrow(() -> new ProjectNotFoundException("Proyecto no encontrado con id: " + id));
+      VersionConflictException.check(expectedVersion, projectRepository.findVersionById(id).orElse(null));
+      validateStatusTransition(currentStatus, newStatus);
+      // Solo llega aquí si la regla de abajo y allowedFrom dejaran de coincidir
+      throw new IllegalStateException("Transición de estado no permitida: " + currentStatus + " -> " + newStatus);
     }
+    changeLogService.changed(ChangeType.PROJECT, id, id, null);
+    return updated.get(0);
+  }
 
-    Project updatedProject = projectRepository.save(project);
-    return modelMapper.map(updatedProject, ProjectDTO.class);
+  private static List<String> allowedFrom(ProjectStatus newStatus) {
+    return switch (newStatus) {
+      case IN_PROGRESS -> List.of();
+      case COMPLETED -> List.of(ProjectStatus.IN_PROGRESS.name());
+      case CANCELED -> List.of(ProjectStatus.IN_PROGRESS.name(), ProjectStatus.COMPLETED.name());
+    };
   }
 
   private void validateStatusTransition(ProjectStatus currentStatus, ProjectStatus newStatus) {
@@ -126,19 +173,21 @@ public class ProjectService {
     }
   }
 
-  public List<ProjectDTO> getProjectsByUserId(Long userId) {
-    List<UserTeam> userTeams = userTeamRepository.findByIdUserId(userId);
-    Set<Project> teamProjects = userTeams
-      .stream()
-      .map(ut -> ut.getTeam().getProject())
-      .collect(Collectors.toSet());
-
-    List<Project> createdProjects = projectRepository.findByCreatedByUserId(userId);
-    teamProjects.addAll(createdProjects);
+  private static ProjectDTO mapProject(ResultSet rs, int rowNum) throws SQLException {
+    return new ProjectDTO(
+      rs.getLong("project_id"),
+      rs.getString("name"),
+      rs.getString("description"),
+      rs.getObject("start_date", LocalDate.class),
+      rs.getObject("end_date", LocalDate.class),
+      ProjectStatus.valueOf(rs.getString("status")),
+      rs.getObject("created_by", Long.class),
+      rs.getObject("version", Long.class)
+    );
+  }
 
-    return teamProjects
-      .stream()
-      .map(projectMapper::toDTO)
-      .toList(); // reemplazo de Collectors.toList()
+  public List<ProjectDTO> getProjectsByUserId(Long userId) {
+    List<Long> projectIds = projectMembershipCache.get(userId).projectIds();
+    return projectIds.isEmpty() ? List.of() : projectRepository.findDTOsByIds(projectIds);
   }
 }
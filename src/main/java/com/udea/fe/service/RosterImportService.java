@@ -0,0 +1,419 @@
+package com.udea.fe.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udea.fe.DTO.RosterImportResultDTO;
+import com.udea.fe.DTO.RosterRowDTO;
+import com.udea.fe.DTO.TeamDTO;
+import com.udea.fe.entity.Role;
+import com.udea.fe.entity.Status;
+import com.udea.fe.repository.TeamRepository;
+import com.udea.fe.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de usuarios y su pertenencia a equipos desde CSV o JSON.
+ * El archivo se lee en streaming y se procesa por bloques: la unicidad de email y DNI se
+ * valida con una consulta por bloque, los hashes BCrypt se calculan en paralelo y los
+ * INSERT van en lotes JDBC, cada bloque en su propia transacción. Las filas inválidas se
+ * reportan con su número sin detener el resto del archivo.
+ */
+@Service
+public class RosterImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RosterImportService.class);
+
+    private static final String DEFAULT_ROLE_IN_GROUP = "Miembro";
+    private static final int MAX_PASSWORD_BYTES = 72;
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "email", "dni", "password");
+
+    private static final String INSERT_USER = """
+        INSERT INTO users (name, email, dni, password, role, status, created_at)
+        VALUES (:name, :email, :dni, :password, :role, :status, :createdAt)
+        """;
+    private static final String SELECT_IDS_BY_EMAIL = "SELECT user_id, email FROM users WHERE email IN (:emails)";
+    private static final String INSERT_MEMBERSHIP = """
+        INSERT INTO user_teams (user_id, team_id, role_in_group)
+        VALUES (:userId, :teamId, :roleInGroup)
+        """;
+
+    private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final TaskExecutor passwordHashExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public RosterImportService(
+            UserRepository userRepository,
+            TeamRepository teamRepository,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashExecutor") TaskExecutor passwordHashExecutor,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            @Value("${users.import.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.teamRepository = teamRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * CSV con encabezado (name,email,dni,password,role,teamId,roleInGroup); role, teamId y roleInGroup
+     * son opcionales. Los errores se identifican por número de línea del archivo.
+     */
+    public RosterImportResultDTO importCsv(InputStream input) throws IOException {
+        Batch batch = new Batch();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        String header = reader.readLine();
+        if (header == null) {
+            return batch.finish();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseCsvLine(header.replace("\uFEFF", ""));
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required.toLowerCase(Locale.ROOT))) {
+                batch.reject(1, null, "Falta la columna obligatoria: " + required);
+                return batch.finish();
+            }
+        }
+
+        int lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = parseCsvLine(line);
+            Function<String, String> column = name -> {
+                Integer index = columns.get(name.toLowerCase(Locale.ROOT));
+                return index != null && index < values.size() ? blankToNull(values.get(index)) : null;
+            };
+
+            RosterRowDTO row = new RosterRowDTO();
+            row.setName(column.apply("name"));
+            row.setEmail(column.apply("email"));
+            row.setDni(column.apply("dni"));
+            row.setPassword(column.apply("password"));
+            row.setRole(column.apply("role"));
+            row.setRoleInGroup(column.apply("roleInGroup"));
+            String teamId = column.apply("teamId");
+            try {
+                row.setTeamId(teamId != null ? Long.valueOf(teamId) : null);
+            } catch (NumberFormatException e) {
+                batch.reject(lineNumber, row.getEmail(), "teamId inválido: " + teamId);
+                continue;
+            }
+            batch.add(lineNumber, row);
+        }
+        return batch.finish();
+    }
+
+    /** Arreglo JSON de objetos con los mismos campos que el CSV; las filas se numeran desde 1. */
+    public RosterImportResultDTO importJson(InputStream input) throws IOException {
+        Batch batch = new Batch();
+        int rowNumber = 0;
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                batch.reject(0, null, "Se esperaba un arreglo JSON de usuarios");
+                return batch.finish();
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                rowNumber++;
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    batch.add(rowNumber, objectMapper.treeToValue(node, RosterRowDTO.class));
+                } catch (JsonProcessingException e) {
+                    batch.reject(rowNumber, node.path("email").asText(null), "Fila con formato inválido: " + e.getOriginalMessage());
+                }
+            }
+        } catch (IOException e) {
+            // JSON mal formado: se conserva lo leído hasta ese punto
+            batch.reject(rowNumber + 1, null, "JSON mal formado: " + e.getMessage());
+        }
+        return batch.finish();
+    }
+
+    private record Row(int number, RosterRowDTO data, Role role) {
+    }
+
+    /** Estado de una importación: filas pendientes del bloque actual y emails/DNI ya vistos en el archivo. */
+    private final class Batch {
+
+        private final RosterImportResultDTO result = new RosterImportResultDTO();
+        private final Set<String> seenEmails = new HashSet<>();
+        private final Set<String> seenDnis = new HashSet<>();
+        private final List<Row> pending = new ArrayList<>(chunkSize);
+
+        void add(int number, RosterRowDTO data) {
+            result.setTotalRows(result.getTotalRows() + 1);
+            data.setEmail(trim(data.getEmail()));
+            data.setDni(trim(data.getDni()));
+            data.setName(trim(data.getName()));
+
+            String error = validate(data);
+            if (error == null && !seenEmails.add(data.getEmail())) {
+                error = "Email repetido en el archivo";
+            }
+            if (error == null && !seenDnis.add(data.getDni())) {
+                error = "DNI repetido en el archivo";
+            }
+            if (error != null) {
+                addError(number, data.getEmail(), error);
+                return;
+            }
+
+            Role role = data.getRole() != null ? Role.valueOf(data.getRole().toUpperCase(Locale.ROOT)) : Role.STUDENT;
+            pending.add(new Row(number, data, role));
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        // Filas que no llegan a ser usuarios (p. ej. teamId ilegible); cuentan en el total
+        void reject(int number, String email, String message) {
+            if (number > 0) {
+                result.setTotalRows(result.getTotalRows() + 1);
+            }
+            addError(number, email, message);
+        }
+
+        RosterImportResultDTO finish() {
+            flush();
+            result.getErrors().sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+            logger.info("Importación de usuarios: {} filas, {} usuarios creados, {} membresías, {} errores",
+                    result.getTotalRows(), result.getCreatedUsers(), result.getAddedMemberships(), result.getErrors().size());
+            return result;
+        }
+
+        private void addError(int number, String email, String message) {
+            result.getErrors().add(new RosterImportResultDTO.RowError(number, email, message));
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Row> chunk = new ArrayList<>(pending);
+            pending.clear();
+
+            // Unicidad contra la base y existencia de equipos: una consulta por conjunto
+            Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(
+                    chunk.stream().map(row -> row.data().getEmail()).toList()));
+            Set<String> existingDnis = new HashSet<>(userRepository.findExistingDnis(
+                    chunk.stream().map(row -> row.data().getDni()).toList()));
+            Set<Long> teamIds = chunk.stream().map(row -> row.data().getTeamId())
+                    .filter(id -> id != null).collect(Collectors.toSet());
+            Map<Long, TeamDTO> teams = teamIds.isEmpty() ? Map.of() : teamRepository.findDTOsByIds(teamIds).stream()
+                    .collect(Collectors.toMap(TeamDTO::getId, Function.identity()));
+
+            List<Row> accepted = new ArrayList<>(chunk.size());
+            for (Row row : chunk) {
+                RosterRowDTO data = row.data();
+                if (existingEmails.contains(data.getEmail())) {
+                    addError(row.number(), data.getEmail(), "Ya existe un usuario con el email proporcionado");
+                } else if (existingDnis.contains(data.getDni())) {
+                    addError(row.number(), data.getEmail(), "Ya existe un usuario con el DNI proporcionado");
+                } else if (data.getTeamId() != null && !teams.containsKey(data.getTeamId())) {
+                    addError(row.number(), data.getEmail(), "Equipo no encontrado con ID: " + data.getTeamId());
+                } else {
+                    accepted.add(row);
+                }
+            }
+            if (accepted.isEmpty()) {
+                return;
+            }
+
+            List<CompletableFuture<String>> futures = accepted.stream()
+                    .map(row -> CompletableFuture.supplyAsync(
+                            () -> passwordEncoder.encode(row.data().getPassword()), passwordHashExecutor))
+                    .toList();
+
+            // Un hash fallido descarta solo su fila; el resto del bloque se guarda
+            List<Row> hashed = new ArrayList<>(accepted.size());
+            List<String> hashes = new ArrayList<>(accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                Row row = accepted.get(i);
+                try {
+                    hashes.add(futures.get(i).join());
+                    hashed.add(row);
+                } catch (CompletionException e) {
+                    logger.warn("No se pudo calcular el hash de la contraseña de la fila {}", row.number(), e.getCause());
+                    addError(row.number(), row.data().getEmail(), "No se pudo procesar la contraseña");
+                }
+            }
+            if (hashed.isEmpty()) {
+                return;
+            }
+
+            try {
+                int memberships = transactionTemplate.execute(status -> insert(hashed, hashes, teams));
+                result.setCreatedUsers(result.getCreatedUsers() + hashed.size());
+                result.setAddedMemberships(result.getAddedMemberships() + memberships);
+            } catch (DataAccessException e) {
+                logger.warn("No se pudo guardar un bloque de {} usuarios", hashed.size(), e);
+                for (Row row : hashed) {
+                    addError(row.number(), row.data().getEmail(),
+                            "No se pudo guardar el bloque: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private int insert(List<Row> rows, List<String> hashes, Map<Long, TeamDTO> teams) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        SqlParameterSource[] users = new SqlParameterSource[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            RosterRowDTO data = rows.get(i).data();
+            users[i] = new MapSqlParameterSource()
+                    .addValue("name", data.getName())
+                    .addValue("email", data.getEmail())
+                    .addValue("dni", data.getDni())
+                    .addValue("password", hashes.get(i))
+                    .addValue("role", rows.get(i).role().name())
+                    .addValue("status", Status.ACTIVE.name())
+                    .addValue("createdAt", now);
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, users);
+
+        List<Row> withTeam = rows.stream().filter(row -> row.data().getTeamId() != null).toList();
+        if (withTeam.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Long> idsByEmail = new HashMap<>();
+        jdbcTemplate.query(SELECT_IDS_BY_EMAIL,
+                new MapSqlParameterSource("emails", withTeam.stream().map(row -> row.data().getEmail()).toList()),
+                rs -> {
+                    idsByEmail.put(rs.getString("email"), rs.getLong("user_id"));
+                });
+
+        SqlParameterSource[] memberships = withTeam.stream()
+                .map(row -> new MapSqlParameterSource()
+                        .addValue("userId", idsByEmail.get(row.data().getEmail()))
+                        .addValue("teamId", row.data().getTeamId())
+                        .addValue("roleInGroup", row.data().getRoleInGroup() != null
+                                ? row.data().getRoleInGroup() : DEFAULT_ROLE_IN_GROUP))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_MEMBERSHIP, memberships);
+
+        eventPublisher.publishEvent(new ProjectMembershipChangedEvent(idsByEmail.values()));
+        withTeam.stream().map(row -> teams.get(row.data().getTeamId()).getProjectId()).distinct()
+                .forEach(projectId -> eventPublisher.publishEvent(new ProjectDataChangedEvent(projectId)));
+        return memberships.length;
+    }
+
+    private static String validate(RosterRowDTO data) {
+        if (data.getName() == null || data.getName().isBlank()) {
+            return "El nombre es obligatorio";
+        }
+        if (data.getEmail() == null || !data.getEmail().contains("@")) {
+            return "Email inválido";
+        }
+        if (data.getDni() == null || data.getDni().isBlank()) {
+            return "El DNI es obligatorio";
+        }
+        if (data.getPassword() == null || data.getPassword().isBlank()) {
+            return "La contraseña es obligatoria";
+        }
+        // BCrypt solo admite hasta 72 bytes y rechaza contraseñas más largas
+        if (data.getPassword().getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES) {
+            return "La contraseña no puede superar " + MAX_PASSWORD_BYTES + " bytes";
+        }
+        if (data.getRole() != null) {
+            try {
+                Role.valueOf(data.getRole().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return "Rol inválido: " + data.getRole();
+            }
+        }
+        return null;
+    }
+
+    // Campos separados por coma; entre comillas pueden contener comas y "" representa una comilla
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static String trim(String value) {
+        return value != null ? value.trim() : null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -1,20 +1,27 @@
 package com.udea.fe.service;
 
+import com.udea.fe.DTO.CursorPage;
 import com.udea.fe.DTO.NotificationDTO;
 import com.udea.fe.DTO.SubmissionRequestDTO;
 import com.udea.fe.DTO.SubmissionResponseDTO;
+import com.udea.fe.entity.ChangeType;
+import com.udea.fe.entity.Project;
 import com.udea.fe.entity.Role;
 import com.udea.fe.entity.Submission;
 import com.udea.fe.entity.User;
+import com.udea.fe.mapper.SubmissionMapper;
 import com.udea.fe.repository.SubmissionRepository;
 import com.udea.fe.repository.TaskRepository;
 import com.udea.fe.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -25,6 +32,9 @@ public class SubmissionService {
   private final TaskRepository taskRepository;
   private final UserRepository userRepository;
   private final NotificationService notificationService;
+  private final SubmissionMapper submissionMapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ChangeLogService changeLogService;
 
   public SubmissionResponseDTO createSubmission(SubmissionRequestDTO request) {
     Submission submission = new Submission();
@@ -39,52 +49,41 @@ public class SubmissionService {
     );
 
     Submission saved = submissionRepository.save(submission);
+    eventPublisher.publishEvent(ProjectDataChangedEvent.of(saved.getTask()));
+    Project project = saved.getTask().getProject();
+    changeLogService.changed(ChangeType.SUBMISSION, saved.getSubmissionId(),
+      project != null ? project.getProjectId() : null, saved.getUser().getUserId());
 
-    SubmissionResponseDTO response = new SubmissionResponseDTO();
-    response.setSubmissionId(saved.getSubmissionId());
-    response.setContent(saved.getContent());
-    response.setFileUrl(saved.getFileUrl());
-    response.setSubmittedAt(saved.getSubmittedAt());
-    response.setTaskId(saved.getTask().getTaskId());
-    response.setUserId(saved.getUser().getUserId());
+    SubmissionResponseDTO response = submissionMapper.toDTO(saved);
 
     NotificationDTO notification = new NotificationDTO();
     notification.setUserId(saved.getUser().getUserId());
     notification.setMessage("Se ha realizado una nueva entrega.");
     notification.setType("ENTREGA");
 
-    notificationService.createNotification(notification);
+    notificationService.enqueueNotification(notification, "TASK:" + saved.getTask().getTaskId());
 
     return response;
   }
 
-  public List<SubmissionResponseDTO> getAllSubmissions() {
-    return submissionRepository
-      .findAll()
-      .stream()
-      .map(sub -> {
-        SubmissionResponseDTO dto = new SubmissionResponseDTO();
-        dto.setSubmissionId(sub.getSubmissionId());
-        dto.setContent(sub.getContent());
-        dto.setFileUrl(sub.getFileUrl());
-        dto.setSubmittedAt(sub.getSubmittedAt());
-        dto.setTaskId(sub.getTask().getTaskId());
-        dto.setUserId(sub.getUser().getUserId());
-        return dto;
-      })
-      .toList();
+  public CursorPage<SubmissionResponseDTO> getAllSubmissions(Long after, Integer size) {
+    List<SubmissionResponseDTO> submissions = submissionRepository.findPageAfter(after, CursorPage.limit(size));
+    return CursorPage.of(submissions, size, SubmissionResponseDTO::getSubmissionId);
+  }
+
+  public void exportAllSubmissions(Consumer<SubmissionResponseDTO> sink) {
+    try (Stream<SubmissionResponseDTO> submissions = submissionRepository.streamAll()) {
+      submissions.forEach(sink);
+    }
+  }
+
+  public long getVersion(Long id) {
+    return submissionRepository.findVersionById(id).orElseThrow();
   }
 
   public SubmissionResponseDTO getSubmissionById(Long id) {
     Submission sub = submissionRepository.findById(id).orElseThrow();
-    SubmissionResponseDTO dto = new SubmissionResponseDTO();
-    dto.setSubmissionId(sub.getSubmissionId());
-    dto.setContent(sub.getContent());
-    dto.setFileUrl(sub.getFileUrl());
-    dto.setSubmittedAt(sub.getSubmittedAt());
-    dto.setTaskId(sub.getTask().getTaskId());
-    dto.setUserId(sub.getUser().getUserId());
-    return dto;
+    return submissionMapper.toDTO(sub);
   }
 
   public List<SubmissionResponseDTO> getSubmissionsByTaskId(Long taskId, String userEmail) {
@@ -105,17 +104,7 @@ public class SubmissionService {
 
     return submissions
       .stream()
-      .map(sub -> {
-        SubmissionResponseDTO dto = new SubmissionResponseDTO();
-        dto.setSubmissionId(sub.getSubmissionId());
-        dto.setContent(sub.getContent());
-        dto.setFileUrl(sub.getFileUrl());
-        dto.setSubmittedAt(sub.getSubmittedAt());
-        dto.setTaskId(sub.getTask().getTaskId());
-        dto.setUserId(sub.getUser().getUserId());
-        dto.setUserName(sub.getUser().getName());
-        return dto;
-      })
+      .map(submissionMapper::toDTO)
       .toList();
   }
 }
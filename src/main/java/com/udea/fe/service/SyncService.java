@@ -0,0 +1,145 @@
+package com.udea.fe.service;
+
+import com.udea.fe.DTO.FeedbackDTO;
+import com.udea.fe.DTO.NotificationDTO;
+import com.udea.fe.DTO.ProjectDTO;
+import com.udea.fe.DTO.SubmissionResponseDTO;
+import com.udea.fe.DTO.SyncResponseDTO;
+import com.udea.fe.DTO.TaskDTO;
+import com.udea.fe.DTO.TeamDTO;
+import com.udea.fe.entity.ChangeLogEntry;
+import com.udea.fe.entity.ChangeType;
+import com.udea.fe.entity.Role;
+import com.udea.fe.repository.ChangeLogRepository;
+import com.udea.fe.repository.FeedbackRepository;
+import com.udea.fe.repository.NotificationRepository;
+import com.udea.fe.repository.ProjectRepository;
+import com.udea.fe.repository.SubmissionRepository;
+import com.udea.fe.repository.TaskRepository;
+import com.udea.fe.repository.TeamRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Sincronización incremental a partir de {@link ChangeLogService}. El cursor es un txid: cada llamada
+ * entrega los cambios de las transacciones entre el cursor y la más antigua que sigue abierta, así una
+ * transacción lenta nunca queda detrás de un cursor ya entregado. El estado se lee de las tablas al
+ * responder, de modo que varios cambios de la misma entidad llegan como uno solo.
+ */
+@Service
+@Transactional
+public class SyncService {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ProjectRepository projectRepository;
+    private final TeamRepository teamRepository;
+    private final TaskRepository taskRepository;
+    private final SubmissionRepository submissionRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final NotificationRepository notificationRepository;
+    private final int pageSize;
+
+    public SyncService(
+            ChangeLogRepository changeLogRepository,
+            ProjectRepository projectRepository,
+            TeamRepository teamRepository,
+            TaskRepository taskRepository,
+            SubmissionRepository submissionRepository,
+            FeedbackRepository feedbackRepository,
+            NotificationRepository notificationRepository,
+            @Value("${sync.page-size:500}") int pageSize) {
+        this.changeLogRepository = changeLogRepository;
+        this.projectRepository = projectRepository;
+        this.teamRepository = teamRepository;
+        this.taskRepository = taskRepository;
+        this.submissionRepository = submissionRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.notificationRepository = notificationRepository;
+        this.pageSize = pageSize;
+    }
+
+    public SyncResponseDTO getChanges(Long since, Long userId, Role role) {
+        long until = changeLogRepository.currentWatermark();
+        SyncResponseDTO response = new SyncResponseDTO();
+        // Sin cursor, o con uno anterior a lo que conserva el registro, no hay delta posible
+        if (since == null || since < changeLogRepository.purgedBefore()) {
+            return reset(response, until);
+        }
+
+        boolean admin = role == Role.ADMIN;
+        boolean seeAll = role != Role.STUDENT;
+        List<ChangeLogEntry> changes = changeLogRepository.findVisible(since, until, userId, admin, seeAll, pageSize + 1);
+        long cursor = until;
+        if (changes.size() > pageSize) {
+            // La página se corta en un límite de transacción para que el cursor no deje filas a medias
+            long lastTxid = changes.get(pageSize).getTxid();
+            if (lastTxid > since) {
+                changes = changes.stream().filter(change -> change.getTxid() < lastTxid).toList();
+                cursor = lastTxid;
+            } else {
+                changes = changeLogRepository.findVisible(since, since + 1, userId, admin, seeAll, Integer.MAX_VALUE);
+                cursor = since + 1;
+            }
+            response.setHasMore(true);
+        }
+        response.setCursor(cursor);
+
+        // En orden de transacción: el último cambio de cada entidad decide si sigue o se borró
+        Map<ChangeType, Set<Long>> changed = new EnumMap<>(ChangeType.class);
+        Map<ChangeType, Set<Long>> deleted = new EnumMap<>(ChangeType.class);
+        for (ChangeLogEntry change : changes) {
+            if (change.getEntityType() == ChangeType.MEMBERSHIP) {
+                return reset(new SyncResponseDTO(), until);
+            }
+            ids(change.isDeleted() ? changed : deleted, change.getEntityType()).remove(change.getEntityId());
+            ids(change.isDeleted() ? deleted : changed, change.getEntityType()).add(change.getEntityId());
+        }
+
+        response.setProjects(load(ChangeType.PROJECT, changed, deleted, projectRepository::findDTOsByIds, ProjectDTO::getId));
+        response.setTeams(load(ChangeType.TEAM, changed, deleted, teamRepository::findDTOsByIds, TeamDTO::getId));
+        response.setTasks(load(ChangeType.TASK, changed, deleted, taskRepository::findDTOsByIds, TaskDTO::getId));
+        response.setSubmissions(load(ChangeType.SUBMISSION, changed, deleted,
+                submissionRepository::findDTOsByIds, SubmissionResponseDTO::getSubmissionId));
+        response.setFeedbacks(load(ChangeType.FEEDBACK, changed, deleted,
+                feedbackRepository::findDTOsByIds, FeedbackDTO::getFeedbackId));
+        response.setNotifications(load(ChangeType.NOTIFICATION, changed, deleted,
+                ids -> notificationRepository.findDTOsForUserByIds(userId, ids), NotificationDTO::getId));
+
+        deleted.forEach((type, ids) -> ids.forEach(id -> response.getDeleted().add(new SyncResponseDTO.Deletion(type, id))));
+        return response;
+    }
+
+    private static SyncResponseDTO reset(SyncResponseDTO response, long cursor) {
+        response.setReset(true);
+        response.setCursor(cursor);
+        return response;
+    }
+
+    // Lo que ya no existe al responder (borrado después de registrar el cambio) se informa como baja
+    private static <T> List<T> load(ChangeType type, Map<ChangeType, Set<Long>> changed,
+                                    Map<ChangeType, Set<Long>> deleted,
+                                    Function<Collection<Long>, List<T>> loader, Function<T, Long> idOf) {
+        Set<Long> ids = changed.get(type);
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        List<T> rows = loader.apply(ids);
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        rows.forEach(row -> missing.remove(idOf.apply(row)));
+        ids(deleted, type).addAll(missing);
+        return rows;
+    }
+
+    private static Set<Long> ids(Map<ChangeType, Set<Long>> byType, ChangeType type) {
+        return byType.computeIfAbsent(type, key -> new LinkedHashSet<>());
+    }
+}
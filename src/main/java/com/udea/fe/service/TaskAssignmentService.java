@@ -1,46 +1,97 @@
 package com.udea.fe.service;
 
+import com.udea.fe.DTO.BulkTaskAssignmentRequestDTO;
+import com.udea.fe.DTO.BulkTaskAssignmentResponseDTO;
 import com.udea.fe.DTO.NotificationDTO;
 import com.udea.fe.DTO.TaskAssignmentRequestDTO;
 import com.udea.fe.DTO.TaskAssignmentResponseDTO;
+import com.udea.fe.DTO.TaskDTO;
+import com.udea.fe.DTO.TeamDTO;
+import com.udea.fe.DTO.TeamMemberDTO;
+import com.udea.fe.DTO.UserSummaryDTO;
+import com.udea.fe.entity.ChangeLogEntry;
+import com.udea.fe.entity.ChangeType;
 import com.udea.fe.entity.Task;
 import com.udea.fe.entity.TaskAssignment;
 import com.udea.fe.entity.TaskAssignmentId;
-import com.udea.fe.entity.User;
 import com.udea.fe.repository.TaskAssignmentRepository;
 import com.udea.fe.repository.TaskRepository;
+import com.udea.fe.repository.TeamRepository;
 import com.udea.fe.repository.UserRepository;
+import com.udea.fe.repository.UserTeamRepository;
 
+import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class TaskAssignmentService {
 
+  private static final String TYPE_USER = "USER";
+  private static final String TYPE_TEAM = "TEAM";
+
+  // Filas por INSERT: cada una usa tres parámetros y PostgreSQL admite 32767 por sentencia
+  private static final int INSERT_CHUNK_SIZE = 1000;
+  // Tope de combinaciones tarea × destinatario por petición: acota la transacción y los avisos generados
+  private static final int MAX_BULK_ASSIGNMENTS = 10_000;
+
+  // Inserta solo las asignaciones que faltan y devuelve exactamente esas
+  private static final String INSERT_ASSIGNMENTS = """
+    INSERT INTO task_assignment (task_id, assigned_type, assigned_id)
+    VALUES :rows
+    ON CONFLICT DO NOTHING
+    RETURNING task_id, assigned_type, assigned_id
+    """;
+
   private final TaskRepository taskRepository;
   private final TaskAssignmentRepository taskAssignmentRepository;
   private final UserRepository userRepository;
+  private final TeamRepository teamRepository;
+  private final UserTeamRepository userTeamRepository;
   private final NotificationService notificationService;
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final ChangeLogService changeLogService;
 
+  // La asignación y su notificación (outbox) se confirman juntas
+  @Transactional
   public TaskAssignmentResponseDTO assignTask(TaskAssignmentRequestDTO request) {
     Task task = taskRepository
       .findById(request.getTaskId())
       .orElseThrow(() -> new RuntimeException("Tarea no encontrada"));
 
+    if (request.getAssignedType() == null) {
+      throw new IllegalArgumentException("assignedType es obligatorio");
+    }
+
     TaskAssignment assignment = new TaskAssignment();
     TaskAssignmentId assignmentId = new TaskAssignmentId();
     assignmentId.setTaskId(task.getTaskId());
-    assignmentId.setAssignedType(request.getAssignedType());
+    // Mismo formato que la asignación masiva, para que la clave primaria detecte las repetidas
+    assignmentId.setAssignedType(request.getAssignedType().toUpperCase(Locale.ROOT));
     assignmentId.setAssignedId(request.getAssignedId());
 
     assignment.setId(assignmentId);
     assignment.setTask(task);
 
     taskAssignmentRepository.save(assignment);
+    // Una asignación nueva hace visible la tarea a sus destinatarios en la próxima sincronización
+    Long projectId = task.getProject() != null ? task.getProject().getProjectId() : null;
+    changeLogService.changed(ChangeType.TASK, task.getTaskId(), projectId, null);
 
     TaskAssignmentResponseDTO response = new TaskAssignmentResponseDTO();
     response.setTaskId(assignmentId.getTaskId());
@@ -48,24 +99,114 @@ public class TaskAssignmentService {
     response.setAssignedId(assignmentId.getAssignedId());
     response.setMessage("Tarea asignada correctamente");
 
+    Set<Long> recipients = TYPE_TEAM.equals(assignmentId.getAssignedType())
+      ? new LinkedHashSet<>(userTeamRepository.findUserIdsByTeamId(assignmentId.getAssignedId()))
+      : Set.of(assignmentId.getAssignedId());
+    notifyAssigned(recipients, projectId);
+
+    return response;
+  }
+
+  /**
+   * Asigna varias tareas a varios usuarios y equipos con un INSERT por bloque. Las asignaciones
+   * existentes se omiten; los equipos se expanden a sus miembros en una sola consulta para notificar
+   * a cada usuario una vez por tarea nueva.
+   */
+  @Transactional
+  public BulkTaskAssignmentResponseDTO assignTasks(BulkTaskAssignmentRequestDTO request) {
+    Set<Long> taskIds = request.getTaskIds();
+    Set<Long> userIds = request.getUserIds();
+    Set<Long> teamIds = request.getTeamIds();
+    if (taskIds == null || userIds == null || teamIds == null) {
+      throw new IllegalArgumentException("taskIds, userIds y teamIds no pueden ser nulos");
+    }
+    if (taskIds.isEmpty() || (userIds.isEmpty() && teamIds.isEmpty())) {
+      throw new IllegalArgumentException("Se requiere al menos una tarea y un usuario o equipo");
+    }
+    if ((long) taskIds.size() * (userIds.size() + teamIds.size()) > MAX_BULK_ASSIGNMENTS) {
+      throw new IllegalArgumentException("Se admiten como máximo " + MAX_BULK_ASSIGNMENTS + " asignaciones por petición");
+    }
+
+    Map<Long, TaskDTO> tasks = taskRepository.findDTOsByIds(taskIds).stream()
+      .collect(Collectors.toMap(TaskDTO::getId, Function.identity()));
+    requireAll("Tareas no encontradas", taskIds, tasks.keySet());
+    if (!userIds.isEmpty()) {
+      requireAll("Usuarios no encontrados", userIds, new HashSet<>(userRepository.findExistingIds(userIds)));
+    }
+    if (!teamIds.isEmpty()) {
+      requireAll("Equipos no encontrados", teamIds,
+        teamRepository.findDTOsByIds(teamIds).stream().map(TeamDTO::getId).collect(Collectors.toSet()));
+    }
+
+    List<Object[]> rows = new ArrayList<>(taskIds.size() * (userIds.size() + teamIds.size()));
+    for (Long taskId : taskIds) {
+      userIds.forEach(userId -> rows.add(new Object[] {taskId, TYPE_USER, userId}));
+      teamIds.forEach(teamId -> rows.add(new Object[] {taskId, TYPE_TEAM, teamId}));
+    }
+
+    List<TaskAssignmentId> created = new ArrayList<>();
+    for (int from = 0; from < rows.size(); from += INSERT_CHUNK_SIZE) {
+      List<Object[]> chunk = rows.subList(from, Math.min(from + INSERT_CHUNK_SIZE, rows.size()));
+      created.addAll(jdbcTemplate.query(INSERT_ASSIGNMENTS, new MapSqlParameterSource("rows", chunk), (rs, rowNum) -> {
+        TaskAssignmentId id = new TaskAssignmentId();
+        id.setTaskId(rs.getLong("task_id"));
+        id.setAssignedType(rs.getString("assigned_type"));
+        id.setAssignedId(rs.getLong("assigned_id"));
+        return id;
+      }));
+    }
+
+    Map<Long, List<Long>> membersByTeam = new LinkedHashMap<>();
+    if (!teamIds.isEmpty()) {
+      for (TeamMemberDTO member : userTeamRepository.findMembersByTeamIds(teamIds)) {
+        membersByTeam.computeIfAbsent(member.getTeamId(), id -> new ArrayList<>()).add(member.getUserId());
+      }
+    }
+
+    // Destinatarios por tarea: un usuario asignado directamente y por equipo recibe un solo aviso
+    Map<Long, Set<Long>> recipientsByTask = new LinkedHashMap<>();
+    for (TaskAssignmentId id : created) {
+      Set<Long> recipients = recipientsByTask.computeIfAbsent(id.getTaskId(), taskId -> new LinkedHashSet<>());
+      if (TYPE_TEAM.equals(id.getAssignedType())) {
+        recipients.addAll(membersByTeam.getOrDefault(id.getAssignedId(), List.of()));
+      } else {
+        recipients.add(id.getAssignedId());
+      }
+    }
+
+    changeLogService.record(recipientsByTask.keySet().stream()
+      .map(taskId -> new ChangeLogEntry(ChangeType.TASK, taskId, false, tasks.get(taskId).getProjectId(), null))
+      .toList());
+
+    int notified = 0;
+    for (Map.Entry<Long, Set<Long>> entry : recipientsByTask.entrySet()) {
+      notifyAssigned(entry.getValue(), tasks.get(entry.getKey()).getProjectId());
+      notified += entry.getValue().size();
+    }
+
+    return new BulkTaskAssignmentResponseDTO(created.size(), rows.size() - created.size(), notified);
+  }
+
+  public List<UserSummaryDTO> getUsersAssignedToTask(Long taskId) {
+    return userRepository.findAssignedToTask(taskId);
+  }
+
+  private void notifyAssigned(Collection<Long> userIds, Long projectId) {
+    if (userIds.isEmpty()) {
+      return;
+    }
     NotificationDTO notification = new NotificationDTO();
-    notification.setUserId(assignmentId.getAssignedId());
     notification.setMessage("Se le ha asignado una nueva tarea");
     notification.setType("ASIGNMENT");
 
-    notificationService.createNotification(notification);
-
-    return response;
+    notificationService.enqueueNotifications(userIds, notification, projectId != null ? "PROJECT:" + projectId : null);
   }
 
-  public List<User> getUsersAssignedToTask(Long taskId) {
-    List<TaskAssignment> assignments = taskAssignmentRepository.findById_TaskId(taskId);
-
-    return assignments
-      .stream()
-      .filter(a -> "USER".equalsIgnoreCase(a.getId().getAssignedType()))
-      .map(a -> userRepository.findById(a.getId().getAssignedId()).orElse(null))
-      .filter(u -> u != null)
-      .collect(Collectors.toList());
+  private static void requireAll(String message, Set<Long> requested, Set<Long> found) {
+    if (!found.containsAll(requested)) {
+      Set<Long> missing = new LinkedHashSet<>(requested);
+      missing.removeAll(found);
+      throw new IllegalArgumentException(message + ": " + missing);
+    }
   }
 }
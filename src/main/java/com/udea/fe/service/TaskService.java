@@ -1,22 +1,39 @@
 package com.udea.fe.service;
 
+import com.udea.fe.DTO.CursorPage;
 import com.udea.fe.DTO.TaskDTO;
+import com.udea.fe.DTO.TaskStatusBulkResultDTO;
 import com.udea.fe.entity.*;
+import com.udea.fe.exception.VersionConflictException;
+import com.udea.fe.mapper.TaskMapper;
 import com.udea.fe.repository.ProjectRepository;
-import com.udea.fe.repository.TaskAssignmentRepository;
 import com.udea.fe.repository.TaskRepository;
 import com.udea.fe.repository.UserRepository;
-import com.udea.fe.repository.UserTeamRepository;
+import com.udea.fe.security.service.ProjectAccessService;
 
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -24,11 +41,13 @@ import java.util.List;
 public class TaskService {
 
     private final TaskRepository taskRepository;
-    private final TaskAssignmentRepository taskAssignmentRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
-    private final UserTeamRepository userTeamRepository;
-    private final ModelMapper modelMapper;
+    private final ProjectAccessService projectAccess;
+    private final TaskMapper taskMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ChangeLogService changeLogService;
 
     private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
 
@@ -36,6 +55,17 @@ public class TaskService {
     private static final String MSG_USUARIO_NO_ENCONTRADO = "Usuario no encontrado";
     private static final String MSG_TAREA_NO_ENCONTRADA = "Tarea no encontrada";
 
+    // Ids por sentencia en el cambio masivo; la lista completa podría superar el límite de parámetros de JDBC
+    private static final int STATUS_CHUNK_SIZE = 1000;
+
+    // Una tarea sin estado aún no ha empezado y puede pasar a cualquiera
+    private static final String UPDATE_STATUS = """
+            UPDATE tasks SET status = :status, version = version + 1
+            WHERE task_id IN (:ids) AND (status IS NULL OR status IN (:allowed))
+              AND (CAST(:version AS bigint) IS NULL OR version = CAST(:version AS bigint))
+            RETURNING task_id, name, description, due_date, status, priority, project_id, created_by, version
+            """;
+
     public TaskDTO createTask(TaskDTO taskDTO) {
         if (taskDTO.getName() == null || taskDTO.getName().isBlank()) {
             throw new IllegalArgumentException("El nombre de la tarea es obligatorio");
@@ -69,37 +99,53 @@ public class TaskService {
             throw new IllegalArgumentException("Ya existe una tarea con ese nombre en este proyecto");
         }
 
-        Task task = modelMapper.map(taskDTO, Task.class);
+        Task task = taskMapper.toEntity(taskDTO);
         task.setProject(project);
         task.setCreatedBy(createdBy);
         task.setStatus(TaskStatus.PENDING);
         task.setCreatedAt(LocalDateTime.now());
 
         Task savedTask = taskRepository.save(task);
-        return modelMapper.map(savedTask, TaskDTO.class);
+        eventPublisher.publishEvent(ProjectDataChangedEvent.of(savedTask));
+        changeLogService.changed(ChangeType.TASK, savedTask.getTaskId(), project.getProjectId(), null);
+        return taskMapper.toDTO(savedTask);
+    }
+
+    public long getVersion(Long id) {
+        return taskRepository.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException(MSG_TAREA_NO_ENCONTRADA));
     }
 
     public TaskDTO getTaskById(Long id) {
         return taskRepository.findById(id)
-                .map(task -> modelMapper.map(task, TaskDTO.class))
+                .map(taskMapper::toDTO)
                 .orElseThrow(() -> new RuntimeException(MSG_TAREA_NO_ENCONTRADA));
     }
 
-    public List<TaskDTO> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(task -> modelMapper.map(task, TaskDTO.class))
-                .toList();
+    public CursorPage<TaskDTO> getAllTasks(Long after, Integer size) {
+        List<TaskDTO> tasks = taskRepository.findPageAfter(after, CursorPage.limit(size));
+        return CursorPage.of(tasks, size, TaskDTO::getId);
     }
 
-    public TaskDTO updateTask(Long id, TaskDTO taskDTO) {
+    // Exportación completa: cada fila se proyecta a DTO y se entrega sin acumularse en memoria
+    public void exportAllTasks(Consumer<TaskDTO> sink) {
+        try (Stream<TaskDTO> tasks = taskRepository.streamAll()) {
+            tasks.forEach(sink);
+        }
+    }
+
+    public TaskDTO updateTask(Long id, TaskDTO taskDTO, Long expectedVersion) {
         return taskRepository.findById(id)
                 .map(task -> {
-                    modelMapper.map(taskDTO, task);
-
+                    VersionConflictException.check(expectedVersion, task.getVersion());
                     if (taskDTO.getStatus() != null && task.getStatus() != taskDTO.getStatus()) {
                         throw new IllegalArgumentException("El estado de la tarea no puede modificarse desde esta función");
                     }
 
+                    eventPublisher.publishEvent(ProjectDataChangedEvent.of(task));
+                    Long previousProjectId = task.getProject() != null ? task.getProject().getProjectId() : null;
+                    taskMapper.updateEntity(taskDTO, task);
+
                     if (taskDTO.getProjectId() != null) {
                         Project project = projectRepository.findById(taskDTO.getProjectId())
                                 .orElseThrow(() -> new RuntimeException(MSG_PROYECTO_NO_ENCONTRADO));
@@ -112,56 +158,121 @@ public class TaskService {
                         task.setCreatedBy(user);
                     }
 
-                    Task updatedTask = taskRepository.save(task);
-                    return modelMapper.map(updatedTask, TaskDTO.class);
+                    // El flush asigna la nueva versión antes de devolverla
+                    Task updatedTask = taskRepository.saveAndFlush(task);
+                    eventPublisher.publishEvent(ProjectDataChangedEvent.of(updatedTask));
+                    Long projectId = updatedTask.getProject() != null ? updatedTask.getProject().getProjectId() : null;
+                    // Al moverla de proyecto, los miembros del anterior la reciben como baja
+                    if (previousProjectId != null && !previousProjectId.equals(projectId)) {
+                        changeLogService.deleted(ChangeType.TASK, id, previousProjectId, null);
+                    }
+                    changeLogService.changed(ChangeType.TASK, id, projectId, null);
+                    return taskMapper.toDTO(updatedTask);
                 })
                 .orElseThrow(() -> new RuntimeException(MSG_TAREA_NO_ENCONTRADA));
     }
 
-    public TaskDTO updateTaskStatus(Long id, TaskStatus status) {
+    /**
+     * Cambia el estado con un único UPDATE condicionado al estado actual, así dos cambios concurrentes
+     * no pueden saltarse la regla. Solo si no se actualiza nada se consulta la tarea para explicar por qué.
+     */
+    public TaskDTO updateTaskStatus(Long id, TaskStatus status, Long expectedVersion) {
         if (status == null) {
             throw new IllegalArgumentException("El estado no puede ser nulo");
         }
 
-        return taskRepository.findById(id)
-                .map(task -> {
-                    if (task.getStatus() == status) {
-                        throw new IllegalArgumentException("La tarea ya tiene este estado");
-                    }
-
-                    if (task.getStatus() == TaskStatus.COMPLETED) {
-                        throw new IllegalStateException("No se puede cambiar el estado de una tarea finalizada");
-                    }
+        List<TaskDTO> updated = jdbcTemplate.query(UPDATE_STATUS, new MapSqlParameterSource()
+                .addValue("status", status.name())
+                .addValue("ids", List.of(id))
+                .addValue("allowed", allowedFrom(status))
+                .addValue("version", expectedVersion), TaskService::mapTask);
+        if (updated.isEmpty()) {
+            Long currentVersion = taskRepository.findVersionById(id)
+                    .orElseThrow(() -> new RuntimeException(MSG_TAREA_NO_ENCONTRADA));
+            VersionConflictException.check(expectedVersion, currentVersion);
+            if (taskRepository.findStatusById(id).orElse(null) == status) {
+                throw new IllegalArgumentException("La tarea ya tiene este estado");
+            }
+            throw new IllegalStateException("No se puede cambiar el estado de una tarea finalizada");
+        }
 
-                    task.setStatus(status);
-                    Task updatedTask = taskRepository.save(task);
-                    return modelMapper.map(updatedTask, TaskDTO.class);
-                })
-                .orElseThrow(() -> new RuntimeException(MSG_TAREA_NO_ENCONTRADA));
+        TaskDTO task = updated.get(0);
+        eventPublisher.publishEvent(new ProjectDataChangedEvent(task.getProjectId()));
+        changeLogService.changed(ChangeType.TASK, task.getId(), task.getProjectId(), null);
+        return task;
     }
 
-    public List<TaskDTO> getTasksByProjectIdAndUser(Long projectId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException(MSG_USUARIO_NO_ENCONTRADO));
+    /** Aplica la misma regla a varias tareas en un solo UPDATE y clasifica las que no cambiaron. */
+    public TaskStatusBulkResultDTO updateTasksStatus(Collection<Long> ids, TaskStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("El estado no puede ser nulo");
+        }
+        TaskStatusBulkResultDTO result = new TaskStatusBulkResultDTO();
+        if (ids == null || ids.isEmpty()) {
+            return result;
+        }
 
-        boolean isTeacher = user.getRole() == Role.TEACHER;
-        boolean isInProjectTeam = userTeamRepository.existsByUserIdAndProjectId(user.getUserId(), projectId);
-
-        if (isTeacher && isInProjectTeam) {
-            return taskRepository.findByProject_ProjectId(projectId).stream()
-                    .map(task -> modelMapper.map(task, TaskDTO.class))
-                    .toList();
-        } else {
-            List<Long> assignedTaskIds = taskAssignmentRepository
-                    .findById_AssignedIdAndId_AssignedType(user.getUserId(), "USER")
-                    .stream()
-                    .map(a -> a.getTask().getTaskId())
-                    .toList();
-
-            return taskRepository.findByProject_ProjectId(projectId).stream()
-                    .filter(task -> assignedTaskIds.contains(task.getTaskId()))
-                    .map(task -> modelMapper.map(task, TaskDTO.class))
-                    .toList();
+        List<Long> requested = List.copyOf(new LinkedHashSet<>(ids));
+        List<TaskDTO> updated = new ArrayList<>();
+        for (int from = 0; from < requested.size(); from += STATUS_CHUNK_SIZE) {
+            updated.addAll(jdbcTemplate.query(UPDATE_STATUS, new MapSqlParameterSource()
+                    .addValue("status", status.name())
+                    .addValue("ids", requested.subList(from, Math.min(from + STATUS_CHUNK_SIZE, requested.size())))
+                    .addValue("allowed", allowedFrom(status))
+                    .addValue("version", null), TaskService::mapTask));
         }
+        updated.forEach(task -> result.getUpdated().add(task.getId()));
+        updated.stream().map(TaskDTO::getProjectId).distinct()
+                .forEach(projectId -> eventPublisher.publishEvent(new ProjectDataChangedEvent(projectId)));
+        changeLogService.record(updated.stream()
+                .map(task -> new ChangeLogEntry(ChangeType.TASK, task.getId(), false, task.getProjectId(), null))
+                .toList());
+
+        List<Long> rest = new ArrayList<>(requested);
+        rest.removeAll(new HashSet<>(result.getUpdated()));
+        if (!rest.isEmpty()) {
+            Set<Long> existing = new HashSet<>();
+            for (int from = 0; from < rest.size(); from += STATUS_CHUNK_SIZE) {
+                existing.addAll(taskRepository.findExistingIds(rest.subList(from, Math.min(from + STATUS_CHUNK_SIZE, rest.size()))));
+            }
+            rest.forEach(taskId -> (existing.contains(taskId) ? result.getRejected() : result.getNotFound()).add(taskId));
+        }
+        return result;
+    }
+
+    // Estados desde los que se puede pasar a target: cualquiera distinto de él, salvo una tarea finalizada
+    private static List<String> allowedFrom(TaskStatus target) {
+        return EnumSet.complementOf(EnumSet.of(target, TaskStatus.COMPLETED)).stream().map(Enum::name).toList();
+    }
+
+    private static TaskDTO mapTask(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp dueDate = rs.getTimestamp("due_date");
+        String priority = rs.getString("priority");
+        return new TaskDTO(
+                rs.getLong("task_id"),
+                rs.getString("name"),
+                rs.getString("description"),
+                dueDate != null ? dueDate.toLocalDateTime() : null,
+                TaskStatus.valueOf(rs.getString("status")),
+                priority != null ? TaskPriority.valueOf(priority) : null,
+                rs.getObject("project_id", Long.class),
+                rs.getObject("created_by", Long.class),
+                rs.getObject("version", Long.class));
+    }
+
+    public String getVisibleTasksTag(Long projectId, Long userId) {
+        return taskRepository.visibleInProjectTag(projectId, userId);
+    }
+
+    public CursorPage<TaskDTO> getTasksByProjectIdAndUser(Long projectId, Long userId, Role role,
+                                                          TaskStatus status, TaskPriority priority,
+                                                          LocalDateTime dueAfter, LocalDateTime dueBefore,
+                                                          Long after, Integer size) {
+        Pageable limit = CursorPage.limit(size);
+        boolean seeAll = role == Role.TEACHER && projectAccess.isMember(userId, projectId);
+
+        List<TaskDTO> tasks = taskRepository.findVisibleInProject(projectId, userId, seeAll,
+                status, priority, dueAfter, dueBefore, after, limit);
+        return CursorPage.of(tasks, size, TaskDTO::getId);
     }
 }
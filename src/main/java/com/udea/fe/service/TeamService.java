@@ -1,18 +1,24 @@
 package com.udea.fe.service;
 
 import com.udea.fe.DTO.TeamDTO;
+import com.udea.fe.DTO.TeamMemberDTO;
 import com.udea.fe.entity.*;
 import com.udea.fe.exception.*;
+import com.udea.fe.mapper.TeamMapper;
 import com.udea.fe.repository.ProjectRepository;
 import com.udea.fe.repository.TeamRepository;
 import com.udea.fe.repository.UserRepository;
 import com.udea.fe.repository.UserTeamRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -23,7 +29,9 @@ public class TeamService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final UserTeamRepository userTeamRepository;
-    private final ModelMapper modelMapper;
+    private final TeamMapper teamMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeLogService changeLogService;
 
     // Constantes centralizadas
     private static final String MSG_PROYECTO_NO_ENCONTRADO = "Proyecto no encontrado";
@@ -35,7 +43,7 @@ public class TeamService {
     private static final String MSG_USUARIO_NO_ESTA_EN_EQUIPO = "Usuario no está en el equipo";
 
     public TeamDTO createTeam(TeamDTO teamDTO) {
-        Team team = modelMapper.map(teamDTO, Team.class);
+        Team team = teamMapper.toEntity(teamDTO);
 
         Project project = projectRepository.findById(teamDTO.getProjectId())
                 .orElseThrow(() -> new ProjectNotFoundException(MSG_PROYECTO_NO_ENCONTRADO));
@@ -48,27 +56,39 @@ public class TeamService {
         }
 
         Team savedTeam = teamRepository.save(team);
-        return modelMapper.map(savedTeam, TeamDTO.class);
+        eventPublisher.publishEvent(ProjectDataChangedEvent.of(project));
+        changeLogService.changed(ChangeType.TEAM, savedTeam.getTeamId(), project.getProjectId(), null);
+        return teamMapper.toDTO(savedTeam);
     }
 
     public TeamDTO getTeamById(Long id) {
         return teamRepository.findById(id)
-                .map(team -> modelMapper.map(team, TeamDTO.class))
+                .map(teamMapper::toDTO)
                 .orElseThrow(() -> new TeamNotFoundException(MSG_EQUIPO_NO_ENCONTRADO));
     }
 
+    public long getVersion(Long id) {
+        return teamRepository.findVersionById(id)
+                .orElseThrow(() -> new TeamNotFoundException(MSG_EQUIPO_NO_ENCONTRADO));
+    }
+
+    public String getTeamsTag(Long projectId) {
+        return teamRepository.projectTag(projectId);
+    }
+
     public List<TeamDTO> getTeamsByProject(Long projectId) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ProjectNotFoundException(MSG_PROYECTO_NO_ENCONTRADO));
 
         return teamRepository.findByProject(project).stream()
-                .map(team -> modelMapper.map(team, TeamDTO.class))
+                .map(teamMapper::toDTO)
                 .toList();
     }
 
-    public TeamDTO updateTeam(Long id, TeamDTO teamDTO) {
+    public TeamDTO updateTeam(Long id, TeamDTO teamDTO, Long expectedVersion) {
         Team existingTeam = teamRepository.findById(id)
                 .orElseThrow(() -> new TeamNotFoundException(MSG_EQUIPO_NO_ENCONTRADO_CON_ID + id));
+        VersionConflictException.check(expectedVersion, existingTeam.getVersion());
 
         existingTeam.setName(teamDTO.getName());
         existingTeam.setDescription(teamDTO.getDescription());
@@ -82,18 +102,31 @@ public class TeamService {
         if (teamDTO.getProjectId() != null) {
             Project project = projectRepository.findById(teamDTO.getProjectId())
                     .orElseThrow(() -> new ProjectNotFoundException(MSG_PROYECTO_NO_ENCONTRADO));
+            if (existingTeam.getProject() == null
+                    || !project.getProjectId().equals(existingTeam.getProject().getProjectId())) {
+                membershipChanged(userTeamRepository.findUserIdsByTeamId(id));
+                eventPublisher.publishEvent(ProjectDataChangedEvent.of(existingTeam.getProject()));
+                eventPublisher.publishEvent(ProjectDataChangedEvent.of(project));
+                if (existingTeam.getProject() != null) {
+                    changeLogService.deleted(ChangeType.TEAM, id, existingTeam.getProject().getProjectId(), null);
+                }
+            }
             existingTeam.setProject(project);
         }
 
-        Team updatedTeam = teamRepository.save(existingTeam);
-        return modelMapper.map(updatedTeam, TeamDTO.class);
+        Team updatedTeam = teamRepository.saveAndFlush(existingTeam);
+        changeLogService.changed(ChangeType.TEAM, id,
+                updatedTeam.getProject() != null ? updatedTeam.getProject().getProjectId() : null, null);
+        return teamMapper.toDTO(updatedTeam);
     }
 
     public void deleteTeam(Long id) {
-        if (!teamRepository.existsById(id)) {
-            throw new TeamNotFoundException(MSG_EQUIPO_NO_ENCONTRADO_CON_ID + id);
-        }
-        teamRepository.deleteById(id);
+        Team team = teamRepository.findById(id)
+                .orElseThrow(() -> new TeamNotFoundException(MSG_EQUIPO_NO_ENCONTRADO_CON_ID + id));
+        membershipChanged(userTeamRepository.findUserIdsByTeamId(id));
+        teamRepository.delete(team);
+        eventPublisher.publishEvent(ProjectDataChangedEvent.of(team.getProject()));
+        changeLogService.deleted(ChangeType.TEAM, id, team.getProject() != null ? team.getProject().getProjectId() : null, null);
     }
 
     public void addUserToTeam(Long userId, Long teamId, String roleInGroup) {
@@ -115,21 +148,40 @@ public class TeamService {
         userTeam.setRoleInGroup(roleInGroup);
 
         userTeamRepository.save(userTeam);
+        membershipChanged(List.of(userId));
+        eventPublisher.publishEvent(ProjectDataChangedEvent.of(team.getProject()));
     }
 
-    public List<UserTeam> getUsersByTeam(Long teamId) {
-        Team team = teamRepository.findById(teamId)
-                .orElseThrow(() -> new TeamNotFoundException(MSG_EQUIPO_NO_ENCONTRADO));
-        return userTeamRepository.findByTeam(team);
+    public List<TeamMemberDTO> getUsersByTeam(Long teamId) {
+        if (!teamRepository.existsById(teamId)) {
+            throw new TeamNotFoundException(MSG_EQUIPO_NO_ENCONTRADO);
+        }
+        return userTeamRepository.findMembersByTeamIds(List.of(teamId));
+    }
+
+    // Miembros de varios equipos en una sola consulta; los equipos sin miembros aparecen con lista vacía
+    public Map<Long, List<TeamMemberDTO>> getUsersByTeams(Collection<Long> teamIds) {
+        Map<Long, List<TeamMemberDTO>> members = new LinkedHashMap<>();
+        if (teamIds == null || teamIds.isEmpty()) {
+            return members;
+        }
+        teamIds.forEach(teamId -> members.put(teamId, new ArrayList<>()));
+        for (TeamMemberDTO member : userTeamRepository.findMembersByTeamIds(members.keySet())) {
+            members.get(member.getTeamId()).add(member);
+        }
+        return members;
     }
 
     public void removeUserFromTeam(Long userId, Long teamId) {
-        UserTeamId id = new UserTeamId(userId, teamId);
+        UserTeam userTeam = userTeamRepository.findById(new UserTeamId(userId, teamId))
+                .orElseThrow(() -> new NotInTeamException(MSG_USUARIO_NO_ESTA_EN_EQUIPO));
 
-        if (!userTeamRepository.existsById(id)) {
-            throw new NotInTeamException(MSG_USUARIO_NO_ESTA_EN_EQUIPO);
-        }
+        userTeamRepository.delete(userTeam);
+        membershipChanged(List.of(userId));
+        eventPublisher.publishEvent(ProjectDataChangedEvent.of(userTeam.getTeam().getProject()));
+    }
 
-        userTeamRepository.deleteById(id);
+    private void membershipChanged(List<Long> userIds) {
+        eventPublisher.publishEvent(new ProjectMembershipChangedEvent(userIds));
     }
 }
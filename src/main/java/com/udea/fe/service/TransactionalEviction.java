@@ -0,0 +1,40 @@
+package com.udea.fe.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Aplica cambios a las cachés en memoria respecto a la transacción en curso. */
+public final class TransactionalEviction {
+
+    private TransactionalEviction() {
+    }
+
+    /**
+     * Invalida de inmediato y de nuevo al confirmar la transacción en curso: entre ambos momentos una
+     * lectura concurrente aún ve el estado anterior en la base y podría volver a cargarlo.
+     */
+    public static void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(afterCommitOf(eviction));
+        }
+    }
+
+    /** Ejecuta la acción cuando la transacción en curso confirme; si no hay transacción, de inmediato. */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(afterCommitOf(action));
+        } else {
+            action.run();
+        }
+    }
+
+    private static TransactionSynchronization afterCommitOf(Runnable action) {
+        return new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.udea.fe.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.udea.fe.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador en memoria de notificaciones no leídas por usuario.
+ * Se carga con un COUNT en el primer acceso y luego se ajusta con deltas al confirmar
+ * cada transacción; el TTL acota cualquier desfase con la base de datos.
+ */
+@Component
+public class UnreadCountCache {
+
+    private final Cache<Long, AtomicLong> cache;
+    private final NotificationRepository notificationRepository;
+    private final NotificationPartitions notificationPartitions;
+
+    public UnreadCountCache(
+            NotificationRepository notificationRepository,
+            NotificationPartitions notificationPartitions,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.unread-cache.max-size:100000}") long maxSize,
+            @Value("${notifications.unread-cache.ttl:PT10M}") Duration ttl) {
+        this.notificationRepository = notificationRepository;
+        this.notificationPartitions = notificationPartitions;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "unreadNotifications");
+    }
+
+    public long get(Long userId) {
+        return cache.get(userId, id -> new AtomicLong(
+                notificationRepository.countUnread(id, notificationPartitions.unreadSince()))).get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        apply(event.notification().getUserId(), 1);
+    }
+
+    /** Aplica el delta cuando la transacción en curso confirme; si no hay transacción, de inmediato. */
+    public void adjustAfterCommit(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        TransactionalEviction.afterCommit(() -> apply(userId, delta));
+    }
+
+    // Solo se ajustan contadores ya cargados; los demás se calculan en la próxima lectura
+    private void apply(Long userId, long delta) {
+        if (userId == null) {
+            return;
+        }
+        AtomicLong count = cache.getIfPresent(userId);
+        if (count != null) {
+            count.updateAndGet(current -> Math.max(0, current + delta));
+        }
+    }
+}
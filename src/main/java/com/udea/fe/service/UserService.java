@@ -5,10 +5,13 @@ import com.udea.fe.entity.Role;
 import com.udea.fe.entity.Status;
 import com.udea.fe.entity.User;
 import com.udea.fe.exception.UserException;
+import com.udea.fe.mapper.UserMapper;
 import com.udea.fe.repository.UserRepository;
+import com.udea.fe.security.service.RefreshTokenService;
+import com.udea.fe.security.service.TokenRevocationService;
+import com.udea.fe.security.service.UserDetailsCache;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -22,7 +25,10 @@ public class UserService {
 
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
-  private final ModelMapper modelMapper;
+  private final UserMapper userMapper;
+  private final TokenRevocationService tokenRevocationService;
+  private final UserDetailsCache userDetailsCache;
+  private final RefreshTokenService refreshTokenService;
 
   private static final String MSG_USUARIO_NO_ENCONTRADO = "Usuario no encontrado";
 
@@ -39,7 +45,7 @@ public class UserService {
       throw new UserException("Ya existe un usuario con el ID proporcionado");
     }
 
-    User user = modelMapper.map(userDTO, User.class);
+    User user = userMapper.toEntity(userDTO);
     user.setPassword(passwordEncoder.encode(user.getPassword()));
 
     if (user.getCreatedAt() == null) {
@@ -51,13 +57,13 @@ public class UserService {
     }
 
     User savedUser = userRepository.save(user);
-    return modelMapper.map(savedUser, UserDTO.class);
+    return userMapper.toDTO(savedUser);
   }
 
   public UserDTO getUserByID(Long id) {
     return userRepository
       .findById(id)
-      .map(user -> modelMapper.map(user, UserDTO.class))
+      .map(userMapper::toDTO)
       .orElseThrow(() -> new UserException(MSG_USUARIO_NO_ENCONTRADO));
   }
 
@@ -65,7 +71,7 @@ public class UserService {
     return userRepository
       .findByRoleNot(Role.ADMIN)
       .stream()
-      .map(user -> modelMapper.map(user, UserDTO.class))
+      .map(userMapper::toDTO)
       .toList(); // Reemplazo de .collect(Collectors.toList())
   }
 
@@ -75,9 +81,16 @@ public class UserService {
       .map(existingUser -> {
         validarCambioDeDni(userDTO, existingUser);
         validarCambioDeEmail(userDTO, existingUser);
+        boolean revocarTokens = cambiaDatosDeAcceso(existingUser, userDTO);
+        String emailAnterior = existingUser.getEmail();
         actualizarCamposUsuario(existingUser, userDTO);
         User updatedUser = userRepository.save(existingUser);
-        return modelMapper.map(updatedUser, UserDTO.class);
+        userDetailsCache.invalidate(emailAnterior, updatedUser.getEmail());
+        if (revocarTokens) {
+          tokenRevocationService.revokeTokensOf(id);
+          refreshTokenService.revokeAllFor(id);
+        }
+        return userMapper.toDTO(updatedUser);
       })
       .orElseThrow(() -> new UserException(MSG_USUARIO_NO_ENCONTRADO));
   }
@@ -102,6 +115,16 @@ public class UserService {
     }
   }
 
+  // Email, rol, estado o contraseña viajan en el token (o lo respaldan): si cambian, se revocan los emitidos
+  private boolean cambiaDatosDeAcceso(User existingUser, UserDTO userDTO) {
+    return (
+      (userDTO.getEmail() != null && !userDTO.getEmail().equals(existingUser.getEmail())) ||
+      (userDTO.getRole() != null && userDTO.getRole() != existingUser.getRole()) ||
+      (userDTO.getStatus() != null && userDTO.getStatus() != existingUser.getStatus()) ||
+      (userDTO.getPassword() != null && !userDTO.getPassword().isBlank())
+    );
+  }
+
   private void actualizarCamposUsuario(User existingUser, UserDTO userDTO) {
     if (userDTO.getName() != null) existingUser.setName(userDTO.getName());
     if (userDTO.getEmail() != null) existingUser.setEmail(userDTO.getEmail());
@@ -115,10 +138,13 @@ public class UserService {
   }
 
   public void deleteUser(Long id) {
-    userRepository
+    User user = userRepository
       .findById(id)
       .orElseThrow(() -> new UserException(MSG_USUARIO_NO_ENCONTRADO));
+    refreshTokenService.deleteAllFor(id);
     userRepository.deleteById(id);
+    userDetailsCache.invalidate(user.getEmail());
+    tokenRevocationService.revokeTokensOf(id);
   }
 
   public void deactivateUser(Long id) {
@@ -127,5 +153,8 @@ public class UserService {
       .orElseThrow(() -> new UserException(MSG_USUARIO_NO_ENCONTRADO));
     user.setStatus(Status.INACTIVE);
     userRepository.save(user);
+    userDetailsCache.invalidate(user.getEmail());
+    tokenRevocationService.revokeTokensOf(id);
+    refreshTokenService.revokeAllFor(id);
   }
 }
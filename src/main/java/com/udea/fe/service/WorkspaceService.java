@@ -4,12 +4,13 @@ import com.udea.fe.DTO.WorkspaceDTO;
 import com.udea.fe.entity.Project;
 import com.udea.fe.entity.Workspace;
 import com.udea.fe.exception.ProjectNotFoundException;
+import com.udea.fe.exception.VersionConflictException;
 import com.udea.fe.exception.WorkspaceNotFoundException;
+import com.udea.fe.mapper.WorkspaceMapper;
 import com.udea.fe.repository.ProjectRepository;
 import com.udea.fe.repository.WorkspaceRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -21,10 +22,10 @@ public class WorkspaceService {
 
     private final WorkspaceRepository workspaceRepository;
     private final ProjectRepository projectRepository;
-    private final ModelMapper modelMapper;
+    private final WorkspaceMapper workspaceMapper;
 
     public WorkspaceDTO createWorkspace(WorkspaceDTO workspaceDTO) {
-        Workspace workspace = modelMapper.map(workspaceDTO, Workspace.class);
+        Workspace workspace = workspaceMapper.toEntity(workspaceDTO);
 
         Project project = projectRepository.findById(workspaceDTO.getProjectId())
                 .orElseThrow(() -> new ProjectNotFoundException(
@@ -32,26 +33,33 @@ public class WorkspaceService {
         workspace.setProject(project);
 
         Workspace savedWorkspace = workspaceRepository.save(workspace);
-        return modelMapper.map(savedWorkspace, WorkspaceDTO.class);
+        return workspaceMapper.toDTO(savedWorkspace);
+    }
+
+    public long getVersion(Long id) {
+        return workspaceRepository.findVersionById(id)
+                .orElseThrow(() -> new WorkspaceNotFoundException(
+                        "Workspace no encontrado con id: " + id));
     }
 
     public WorkspaceDTO getWorkspaceById(Long id) {
         Workspace workspace = workspaceRepository.findById(id)
                 .orElseThrow(() -> new WorkspaceNotFoundException(
                         "Workspace no encontrado con id: " + id));
-        return modelMapper.map(workspace, WorkspaceDTO.class);
+        return workspaceMapper.toDTO(workspace);
     }
 
     public List<WorkspaceDTO> getAllWorkspaces() {
         return workspaceRepository.findAll().stream()
-                .map(workspace -> modelMapper.map(workspace, WorkspaceDTO.class))
+                .map(workspaceMapper::toDTO)
                 .toList(); // modern approach
     }
 
-    public WorkspaceDTO updateWorkspace(Long id, WorkspaceDTO workspaceDTO) {
+    public WorkspaceDTO updateWorkspace(Long id, WorkspaceDTO workspaceDTO, Long expectedVersion) {
         return workspaceRepository.findById(id)
                 .map(workspace -> {
-                    modelMapper.map(workspaceDTO, workspace);
+                    VersionConflictException.check(expectedVersion, workspace.getVersion());
+                    workspaceMapper.updateEntity(workspaceDTO, workspace);
 
                     if (workspaceDTO.getProjectId() != null) {
                         Project project = projectRepository.findById(workspaceDTO.getProjectId())
@@ -60,8 +68,8 @@ public class WorkspaceService {
                         workspace.setProject(project);
                     }
 
-                    Workspace updatedWorkspace = workspaceRepository.save(workspace);
-                    return modelMapper.map(updatedWorkspace, WorkspaceDTO.class);
+                    Workspace updatedWorkspace = workspaceRepository.saveAndFlush(workspace);
+                    return workspaceMapper.toDTO(updatedWorkspace);
                 })
                 .orElseThrow(() -> new WorkspaceNotFoundException(
                         "Workspace no encontrado con id: " + id));
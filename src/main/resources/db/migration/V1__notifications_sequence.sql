@@ -0,0 +1,16 @@
+-- Secuencia para los ids de notifications (optimizador pooled de Hibernate, bloques de 50).
+-- Con el valor actual en el máximo id, el primer bloque empieza justo después de las filas existentes.
+CREATE SEQUENCE IF NOT EXISTS notifications_seq START WITH 1 INCREMENT BY 50;
+
+DO $$
+DECLARE
+    max_id BIGINT;
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables
+               WHERE table_schema = current_schema() AND table_name = 'notifications') THEN
+        SELECT MAX(notification_id) INTO max_id FROM notifications;
+        IF max_id IS NOT NULL THEN
+            PERFORM setval('notifications_seq', max_id, true);
+        END IF;
+    END IF;
+END $$;
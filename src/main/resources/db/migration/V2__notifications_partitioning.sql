@@ -0,0 +1,126 @@
+-- notifications pasa a estar particionada por mes sobre created_at.
+-- La retención elimina (o archiva) particiones completas en lugar de borrar fila a fila,
+-- y las consultas de no leídas acotadas por fecha solo recorren las particiones recientes.
+
+-- Crea la partición del mes indicado. Si la partición por defecto tiene filas de ese mes,
+-- se mueven a la nueva antes de adjuntarla (de lo contrario el ATTACH fallaría).
+CREATE OR REPLACE FUNCTION notifications_create_partition(month_start DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    lower_bound DATE := date_trunc('month', month_start)::DATE;
+    upper_bound DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'notifications_' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE notifications INCLUDING DEFAULTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM notifications_default WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', lower_bound, upper_bound, partition_name);
+    EXECUTE format('ALTER TABLE notifications ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, lower_bound, upper_bound);
+    RETURN TRUE;
+END $$;
+
+-- Garantiza las particiones del mes actual y de los months_ahead siguientes. Devuelve cuántas creó.
+CREATE OR REPLACE FUNCTION notifications_ensure_partitions(months_ahead INTEGER) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    created INTEGER := 0;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        IF notifications_create_partition((date_trunc('month', now()) + make_interval(months => i))::DATE) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END $$;
+
+-- Retira las particiones mensuales anteriores a keep_months meses. Las que aún tienen
+-- notificaciones sin leer (o todas, si archive) se desacoplan y se renombran a
+-- notifications_archive_YYYY_MM; el resto se elimina. Devuelve cuántas retiró.
+CREATE OR REPLACE FUNCTION notifications_purge_partitions(keep_months INTEGER, archive BOOLEAN) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    cutoff DATE := (date_trunc('month', now()) - make_interval(months => keep_months))::DATE;
+    partition_name TEXT;
+    has_unread BOOLEAN;
+    purged INTEGER := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'notifications'::regclass
+          AND c.relname ~ '^notifications_\d{4}_\d{2}$'
+        ORDER BY c.relname
+    LOOP
+        CONTINUE WHEN to_date(right(partition_name, 7), 'YYYY_MM') >= cutoff;
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE NOT is_read)', partition_name) INTO has_unread;
+        EXECUTE format('ALTER TABLE notifications DETACH PARTITION %I', partition_name);
+        IF archive OR has_unread THEN
+            EXECUTE format('ALTER TABLE %I RENAME TO %I', partition_name,
+                           'notifications_archive_' || right(partition_name, 7));
+        ELSE
+            EXECUTE format('DROP TABLE %I', partition_name);
+        END IF;
+        purged := purged + 1;
+    END LOOP;
+    RETURN purged;
+END $$;
+
+-- Convierte la tabla existente (o la crea en una base nueva, antes de que Hibernate la cree sin particionar).
+-- La clave primaria debe incluir la columna de partición.
+DO $$
+DECLARE
+    existing_kind "char";
+    month_start DATE;
+BEGIN
+    SELECT c.relkind INTO existing_kind FROM pg_class c WHERE c.oid = to_regclass('notifications');
+    IF existing_kind = 'p' THEN
+        RETURN;
+    END IF;
+
+    IF existing_kind = 'r' THEN
+        ALTER TABLE notifications RENAME TO notifications_legacy;
+        IF to_regclass('notifications_pkey') IS NOT NULL THEN
+            ALTER INDEX notifications_pkey RENAME TO notifications_legacy_pkey;
+        END IF;
+        DROP INDEX IF EXISTS idx_notifications_user_id_is_read;
+    END IF;
+
+    CREATE TABLE notifications (
+        notification_id BIGINT NOT NULL,
+        user_id BIGINT,
+        message VARCHAR(255),
+        type VARCHAR(255),
+        is_read BOOLEAN NOT NULL DEFAULT FALSE,
+        created_at TIMESTAMP(6) NOT NULL,
+        read_at TIMESTAMP(6),
+        PRIMARY KEY (notification_id, created_at)
+    ) PARTITION BY RANGE (created_at);
+    CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+    IF existing_kind = 'r' THEN
+        FOR month_start IN
+            SELECT DISTINCT date_trunc('month', created_at)::DATE FROM notifications_legacy WHERE created_at IS NOT NULL
+        LOOP
+            PERFORM notifications_create_partition(month_start);
+        END LOOP;
+
+        INSERT INTO notifications (notification_id, user_id, message, type, is_read, created_at, read_at)
+        SELECT notification_id, user_id, message, type, is_read, COALESCE(created_at, now()), read_at
+        FROM notifications_legacy;
+
+        DROP TABLE notifications_legacy;
+    END IF;
+
+    PERFORM notifications_ensure_partitions(3);
+    CREATE INDEX idx_notifications_user_id_is_read ON notifications (user_id, is_read);
+
+    -- En una base nueva users todavía no existe (Hibernate la crea después); ahí la FK queda sin declarar
+    IF to_regclass('users') IS NOT NULL THEN
+        ALTER TABLE notifications ADD CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES users (user_id);
+    END IF;
+END $$;
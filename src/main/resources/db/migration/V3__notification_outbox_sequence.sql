@@ -0,0 +1,15 @@
+-- Secuencia para los ids de notification_outbox: con IDENTITY Hibernate inserta fila a fila,
+-- con la secuencia (bloques de 50) los encolados masivos salen en lotes JDBC.
+CREATE SEQUENCE IF NOT EXISTS notification_outbox_seq START WITH 1 INCREMENT BY 50;
+
+DO $$
+DECLARE
+    max_id BIGINT;
+BEGIN
+    IF to_regclass('notification_outbox') IS NOT NULL THEN
+        SELECT MAX(outbox_id) INTO max_id FROM notification_outbox;
+        IF max_id IS NOT NULL THEN
+            PERFORM setval('notification_outbox_seq', max_id, true);
+        END IF;
+    END IF;
+END $$;
@@ -0,0 +1,13 @@
+-- Columna de versión (bloqueo optimista y ETag) en las entidades editables.
+-- Las filas existentes parten de 0. En una base nueva las tablas aún no existen y Hibernate
+-- las crea ya con la columna.
+DO $$
+DECLARE
+    table_name TEXT;
+BEGIN
+    FOREACH table_name IN ARRAY ARRAY['tasks', 'projects', 'teams', 'submissions', 'feedbacks', 'workspaces'] LOOP
+        IF to_regclass(table_name) IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE %I ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0', table_name);
+        END IF;
+    END LOOP;
+END $$;
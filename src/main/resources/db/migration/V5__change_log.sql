@@ -0,0 +1,37 @@
+-- Registro de cambios para la sincronización incremental (/api/sync). Cada escritura agrega filas
+-- en su propia transacción; txid identifica esa transacción y sirve de cursor a los clientes.
+CREATE SEQUENCE IF NOT EXISTS change_log_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS change_log (
+    change_id BIGINT PRIMARY KEY,
+    txid BIGINT NOT NULL DEFAULT txid_current(),
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    project_id BIGINT,
+    user_id BIGINT,
+    changed_at TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+CREATE INDEX IF NOT EXISTS idx_change_log_txid ON change_log (txid);
+
+-- Primer txid que el registro conserva completo: un cursor anterior obliga al cliente a recargar todo
+CREATE TABLE IF NOT EXISTS change_log_horizon (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    purged_before BIGINT NOT NULL
+);
+INSERT INTO change_log_horizon (id, purged_before) VALUES (1, 0) ON CONFLICT DO NOTHING;
+
+-- Elimina las filas anteriores a cutoff y adelanta el horizonte. Devuelve cuántas eliminó.
+CREATE OR REPLACE FUNCTION change_log_purge(cutoff TIMESTAMP) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    purged INTEGER;
+    last_txid BIGINT;
+BEGIN
+    WITH removed AS (DELETE FROM change_log WHERE changed_at < cutoff RETURNING txid)
+    SELECT COUNT(*), MAX(txid) INTO purged, last_txid FROM removed;
+    IF last_txid IS NOT NULL THEN
+        UPDATE change_log_horizon SET purged_before = GREATEST(purged_before, last_txid + 1) WHERE id = 1;
+    END IF;
+    RETURN purged;
+END $$;
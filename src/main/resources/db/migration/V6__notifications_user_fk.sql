@@ -0,0 +1,17 @@
+-- FK de notifications hacia users. V2 solo la declara si users ya existe: en una base nueva
+-- Flyway corre antes de que Hibernate cree users, y la entidad usa NO_CONSTRAINT porque
+-- Hibernate no puede gestionar la FK de la tabla particionada. La aplicación llama a esta
+-- función al arrancar, cuando users ya existe. Devuelve si creó la FK.
+CREATE OR REPLACE FUNCTION notifications_ensure_user_fk() RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF to_regclass('users') IS NULL
+       OR EXISTS (SELECT 1 FROM pg_constraint
+                  WHERE conname = 'fk_notifications_user' AND conrelid = 'notifications'::regclass) THEN
+        RETURN FALSE;
+    END IF;
+    ALTER TABLE notifications ADD CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES users (user_id);
+    RETURN TRUE;
+END $$;
+
+SELECT notifications_ensure_user_fk();
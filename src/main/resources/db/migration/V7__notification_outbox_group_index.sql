@@ -0,0 +1,14 @@
+-- Índice para reclamar y bloquear los grupos (usuario, tipo, objetivo) del outbox sin recorrerlo
+-- con bucles anidados. type y target admiten NULL, por eso el índice y las consultas usan COALESCE.
+-- En una base nueva la tabla se crea aquí (con la forma que le da Hibernate) para que el índice exista desde el inicio.
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    outbox_id BIGINT NOT NULL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    message VARCHAR(255),
+    type VARCHAR(255),
+    target VARCHAR(255),
+    created_at TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_group
+    ON notification_outbox (user_id, COALESCE(type, ''), COALESCE(target, ''), outbox_id);
@@ -0,0 +1,18 @@
+-- assigned_type se guarda en mayúsculas ('USER'/'TEAM'). Las filas que la asignación individual
+-- guardó tal como llegaron se normalizan; si ya existe la misma asignación en otra grafía, se conserva una sola.
+DO $$
+BEGIN
+    IF to_regclass('task_assignment') IS NOT NULL THEN
+        DELETE FROM task_assignment a
+        USING task_assignment b
+        WHERE a.task_id = b.task_id
+          AND a.assigned_id = b.assigned_id
+          AND upper(a.assigned_type) = upper(b.assigned_type)
+          AND a.assigned_type <> b.assigned_type
+          AND (b.assigned_type = upper(b.assigned_type)
+               OR (a.assigned_type <> upper(a.assigned_type) AND a.ctid > b.ctid));
+
+        UPDATE task_assignment SET assigned_type = upper(assigned_type)
+        WHERE assigned_type <> upper(assigned_type);
+    END IF;
+END $$;
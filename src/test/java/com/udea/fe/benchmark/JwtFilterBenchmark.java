@@ -0,0 +1,134 @@
+package com.udea.fe.benchmark;
+
+import com.udea.fe.config.JwtAuthenticationFilter;
+import com.udea.fe.config.JwtService;
+import com.udea.fe.entity.Role;
+import com.udea.fe.entity.Status;
+import com.udea.fe.entity.User;
+import com.udea.fe.security.service.TokenRevocationService;
+import com.udea.fe.security.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.security.Key;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput del filtro JWT: flujo anterior (tres parseos y clave reconstruida
+ * en cada llamada) frente al flujo de un solo parseo con parser precompilado.
+ *
+ * <p>Ejecutar con:
+ * {@code mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath com.udea.fe.benchmark.JwtFilterBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "MiClaveUltraSecretaQueDebeSerDeAlMenos256BitsDeLargo123456";
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    private String bearer;
+    private OncePerRequestFilter legacyFilter;
+    private JwtAuthenticationFilter filter;
+
+    @Setup
+    public void setup() {
+        JwtService jwtService = new JwtService(SECRET, 3_600_000L);
+
+        User user = new User(1L, "Estudiante", "estudiante@udea.edu.co", "1000000000",
+                "$2a$10$hash", Role.STUDENT, LocalDateTime.now(), Status.ACTIVE);
+        bearer = "Bearer " + jwtService.generateToken(user);
+
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(null, null) {
+            @Override
+            public UserDetails loadUserByUsername(String email) {
+                return new org.springframework.security.core.userdetails.User(
+                        email, user.getPassword(), true, true, true, true, user.getRole().getAuthorities());
+            }
+        };
+
+        legacyFilter = new LegacyJwtAuthenticationFilter(userDetailsService);
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, new TokenRevocationService(null));
+    }
+
+    @Benchmark
+    public Object legacyTripleParse() throws Exception {
+        return run(legacyFilter);
+    }
+
+    @Benchmark
+    public Object verifiedSingleParse() throws Exception {
+        return run(filter);
+    }
+
+    private Object run(OncePerRequestFilter target) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/all");
+        request.addHeader("Authorization", bearer);
+        try {
+            target.doFilter(request, new MockHttpServletResponse(), NOOP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /** Réplica del filtro y del JwtService previos al parser precompilado. */
+    static final class LegacyJwtAuthenticationFilter extends OncePerRequestFilter {
+
+        private final UserDetailsServiceImpl userDetailsService;
+
+        LegacyJwtAuthenticationFilter(UserDetailsServiceImpl userDetailsService) {
+            this.userDetailsService = userDetailsService;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws java.io.IOException, jakarta.servlet.ServletException {
+            String jwt = request.getHeader("Authorization").substring(7);
+            String userEmail = parse(jwt).getSubject();
+
+            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+                boolean valid = parse(jwt).getSubject().equals(userDetails.getUsername())
+                        && !parse(jwt).getExpiration().before(new Date());
+                if (valid) {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+                }
+            }
+            filterChain.doFilter(request, response);
+        }
+
+        private static Claims parse(String token) {
+            Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.udea.fe.benchmark;
+
+import com.udea.fe.DTO.TaskDTO;
+import com.udea.fe.entity.Project;
+import com.udea.fe.entity.ProjectStatus;
+import com.udea.fe.entity.Role;
+import com.udea.fe.entity.Status;
+import com.udea.fe.entity.Task;
+import com.udea.fe.entity.TaskPriority;
+import com.udea.fe.entity.TaskStatus;
+import com.udea.fe.entity.User;
+import com.udea.fe.mapper.TaskMapper;
+import com.udea.fe.mapper.TaskMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de mapear un listado de 10k tareas: ModelMapper (reflexión) frente al mapper generado por MapStruct.
+ *
+ * <p>Ejecutar con:
+ * {@code mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath com.udea.fe.benchmark.MappingBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private List<Task> tasks;
+    private ModelMapper modelMapper;
+    private TaskMapper taskMapper;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapper();
+        taskMapper = new TaskMapperImpl();
+
+        User teacher = new User(1L, "Docente", "docente@udea.edu.co", "1000000001",
+                "$2a$10$hash", Role.TEACHER, LocalDateTime.now(), Status.ACTIVE);
+        Project project = new Project(1L, "Proyecto", "Descripción", LocalDate.now(),
+                LocalDate.now().plusMonths(4), ProjectStatus.IN_PROGRESS, teacher, 0L);
+
+        tasks = new ArrayList<>(ROWS);
+        for (long i = 0; i < ROWS; i++) {
+            tasks.add(new Task(i, "Tarea " + i, "Descripción " + i, LocalDateTime.now(),
+                    LocalDateTime.now().plusDays(7), TaskStatus.PENDING, TaskPriority.MEDIUM, teacher, project, 0L));
+        }
+    }
+
+    @Benchmark
+    public List<TaskDTO> modelMapper() {
+        return tasks.stream().map(task -> modelMapper.map(task, TaskDTO.class)).toList();
+    }
+
+    @Benchmark
+    public List<TaskDTO> mapStruct() {
+        return tasks.stream().map(taskMapper::toDTO).toList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MappingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
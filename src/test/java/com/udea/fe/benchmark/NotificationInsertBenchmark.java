@@ -0,0 +1,138 @@
+package com.udea.fe.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserciones por segundo en una tabla con la forma de notifications: un INSERT por fila
+ * (como con IDENTITY) frente a lotes JDBC reescritos como INSERT multi-fila (reWriteBatchedInserts),
+ * que es lo que hace el despachador del outbox con ids de secuencia.
+ *
+ * <p>Requiere un PostgreSQL local; la tabla {@code bench_notifications} se crea y se borra aquí.
+ * Ejecutar con:
+ * {@code mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-Dbench.jdbc.url=jdbc:postgresql://localhost:5432/postgres -Dbench.jdbc.user=postgres
+ * -Dbench.jdbc.password=postgres -cp %classpath com.udea.fe.benchmark.NotificationInsertBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class NotificationInsertBenchmark {
+
+    private static final int ROWS_PER_OP = 200;
+
+    private static final String INSERT = """
+            INSERT INTO bench_notifications (notification_id, user_id, message, type, is_read, created_at)
+            VALUES (nextval('bench_notifications_seq'), ?, ?, ?, false, ?)
+            """;
+
+    private Connection singleConnection;
+    private Connection batchedConnection;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        singleConnection = connect(false);
+        batchedConnection = connect(true);
+
+        try (Statement ddl = singleConnection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS bench_notifications");
+            ddl.execute("DROP SEQUENCE IF EXISTS bench_notifications_seq");
+            ddl.execute("CREATE SEQUENCE bench_notifications_seq INCREMENT BY 50");
+            ddl.execute("""
+                    CREATE TABLE bench_notifications (
+                        notification_id BIGINT PRIMARY KEY,
+                        user_id BIGINT NOT NULL,
+                        message VARCHAR(255),
+                        type VARCHAR(255),
+                        is_read BOOLEAN NOT NULL,
+                        created_at TIMESTAMP
+                    )""");
+        }
+        singleConnection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement ddl = singleConnection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS bench_notifications");
+            ddl.execute("DROP SEQUENCE IF EXISTS bench_notifications_seq");
+        }
+        singleConnection.commit();
+        singleConnection.close();
+        batchedConnection.close();
+    }
+
+    /** Una transacción de ROWS_PER_OP filas, un viaje a la base por fila. */
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_OP)
+    public void singleInserts() throws SQLException {
+        try (PreparedStatement insert = singleConnection.prepareStatement(INSERT)) {
+            for (int i = 0; i < ROWS_PER_OP; i++) {
+                bind(insert, i);
+                insert.executeUpdate();
+            }
+        }
+        singleConnection.commit();
+    }
+
+    /** Misma transacción en lotes de 50 (hibernate.jdbc.batch_size) con INSERT multi-fila. */
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_OP)
+    public void batchedInserts() throws SQLException {
+        try (PreparedStatement insert = batchedConnection.prepareStatement(INSERT)) {
+            for (int i = 0; i < ROWS_PER_OP; i++) {
+                bind(insert, i);
+                insert.addBatch();
+                if ((i + 1) % 50 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        batchedConnection.commit();
+    }
+
+    private static void bind(PreparedStatement insert, int i) throws SQLException {
+        insert.setLong(1, i % 500);
+        insert.setString(2, "Se le ha asignado una nueva tarea");
+        insert.setString(3, "ASIGNMENT");
+        insert.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+    }
+
+    private static Connection connect(boolean rewriteBatchedInserts) throws SQLException {
+        Properties props = new Properties();
+        props.setProperty("user", System.getProperty("bench.jdbc.user", "postgres"));
+        props.setProperty("password", System.getProperty("bench.jdbc.password", "postgres"));
+        props.setProperty("reWriteBatchedInserts", String.valueOf(rewriteBatchedInserts));
+
+        Connection connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/postgres"), props);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        // Las propiedades de conexión se reenvían al JVM bifurcado por JMH
+        new Runner(new OptionsBuilder()
+                .include(NotificationInsertBenchmark.class.getSimpleName())
+                .jvmArgsAppend(
+                        "-Dbench.jdbc.url=" + System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/postgres"),
+                        "-Dbench.jdbc.user=" + System.getProperty("bench.jdbc.user", "postgres"),
+                        "-Dbench.jdbc.password=" + System.getProperty("bench.jdbc.password", "postgres"))
+                .build()).run();
+    }
+}